@@ -0,0 +1,302 @@
+package processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates "PageNameElements" class for every page object with
+ * {@code @FindBy} fields. Generated method named as the field makes lazy
+ * element located by its annotation, page object initializes its private
+ * field with it, so page objects do not use reflective PageFactory.
+ * Elements are located in context returned by package-private
+ * "getSearchContext()" hook of the page object. Wrong locators fail the
+ * build.
+ */
+@SupportedAnnotationTypes(PageElementsProcessor.FIND_BY)
+public final class PageElementsProcessor extends AbstractProcessor {
+
+    /**
+     * Locator annotation.
+     */
+    static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+
+    /**
+     * Annotation disabling element caching.
+     */
+    private static final String NO_CACHE = "helpers.NoCache";
+
+    /**
+     * Element type of annotated fields.
+     */
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+
+    /**
+     * Lazy element class used by generated code.
+     */
+    private static final String LAZY_ELEMENT = "helpers.LazyElement";
+
+    /**
+     * By factory methods by FindBy attribute.
+     */
+    private static final Map<String, String> ATTRIBUTES = new LinkedHashMap<>();
+
+    /**
+     * By factories by How constant.
+     */
+    private static final Map<String, String> HOWS = new LinkedHashMap<>();
+
+    static {
+        ATTRIBUTES.put("id", "By.id");
+        ATTRIBUTES.put("name", "By.name");
+        ATTRIBUTES.put("className", "By.className");
+        ATTRIBUTES.put("css", "By.cssSelector");
+        ATTRIBUTES.put("tagName", "By.tagName");
+        ATTRIBUTES.put("linkText", "By.linkText");
+        ATTRIBUTES.put("partialLinkText", "By.partialLinkText");
+        ATTRIBUTES.put("xpath", "By.xpath");
+        HOWS.put("CLASS_NAME", "By.className");
+        HOWS.put("CSS", "By.cssSelector");
+        HOWS.put("ID", "By.id");
+        HOWS.put("ID_OR_NAME", "new org.openqa.selenium.support.pagefactory"
+                + ".ByIdOrName");
+        HOWS.put("LINK_TEXT", "By.linkText");
+        HOWS.put("NAME", "By.name");
+        HOWS.put("PARTIAL_LINK_TEXT", "By.partialLinkText");
+        HOWS.put("TAG_NAME", "By.tagName");
+        HOWS.put("XPATH", "By.xpath");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+                           final RoundEnvironment roundEnv) {
+        Map<TypeElement, List<VariableElement>> pages = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element field
+                    : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (field.getKind() != ElementKind.FIELD) {
+                    error(field, "@FindBy поддерживается только у полей");
+                    continue;
+                }
+                pages.computeIfAbsent(
+                        (TypeElement) field.getEnclosingElement(),
+                        page -> new ArrayList<>())
+                        .add((VariableElement) field);
+            }
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> page
+                : pages.entrySet()) {
+            generate(page.getKey(), page.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Writes elements class of the page object.
+     * @param page page object class
+     * @param fields annotated fields
+     */
+    private void generate(final TypeElement page,
+                          final List<VariableElement> fields) {
+        if (page.getNestingKind() != NestingKind.TOP_LEVEL) {
+            error(page, "Page object с @FindBy должен быть классом верхнего"
+                    + " уровня");
+            return;
+        }
+        String pageName = page.getSimpleName().toString();
+        List<String> factories = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : fields) {
+            String factory = factory(pageName, field);
+            if (factory == null) {
+                valid = false;
+            } else {
+                factories.add(factory);
+            }
+        }
+        if (!valid) {
+            return;
+        }
+        String packageName = ((PackageElement) page.getEnclosingElement())
+                .getQualifiedName().toString();
+        String className = pageName + "Elements";
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("import org.openqa.selenium.By;\n")
+                .append("import org.openqa.selenium.WebElement;\n\n")
+                .append("/**\n * Elements of {@link ").append(pageName)
+                .append("}, generated from its @FindBy fields.\n */\n")
+                .append("final class ").append(className).append(" {\n\n")
+                .append("    /**\n     * Not called.\n     */\n")
+                .append("    private ").append(className).append("() {\n")
+                .append("    }\n");
+        for (String factory : factories) {
+            source.append(factory);
+        }
+        source.append("}\n");
+        try (Writer writer = processingEnv.getFiler().createSourceFile(
+                packageName + "." + className, page).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(page, "Не удалось создать " + className + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Makes element factory method of the field.
+     * @param pageName page object class name
+     * @param field annotated field
+     * @return factory method or null when field is wrong
+     */
+    private String factory(final String pageName,
+                           final VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC)) {
+            error(field, "Поле с @FindBy не должно быть static");
+            return null;
+        }
+        if (!WEB_ELEMENT.equals(field.asType().toString())) {
+            error(field, "Поле с @FindBy должно иметь тип WebElement");
+            return null;
+        }
+        String locator = locator(field);
+        if (locator == null) {
+            return null;
+        }
+        boolean cached = true;
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (NO_CACHE.equals(mirror.getAnnotationType().toString())) {
+                cached = false;
+            }
+        }
+        String name = field.getSimpleName().toString();
+        return "\n    /**\n     * Makes element of field " + name + ".\n"
+                + "     * @param page page object\n"
+                + "     * @return lazy element\n     */\n"
+                + "    static WebElement " + name + "(final " + pageName
+                + " page) {\n        return new " + LAZY_ELEMENT
+                + "(page::getSearchContext,\n                " + locator
+                + ", " + cached + ");\n    }\n";
+    }
+
+    /**
+     * Makes By expression of the field locator.
+     * @param field annotated field
+     * @return By expression or null when locator is wrong
+     */
+    private String locator(final VariableElement field) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!FIND_BY.equals(mirror.getAnnotationType().toString())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement,
+                    ? extends AnnotationValue> value
+                    : mirror.getElementValues().entrySet()) {
+                values.put(value.getKey().getSimpleName().toString(),
+                        value.getValue().getValue().toString());
+            }
+        }
+        String how = values.remove("how");
+        String using = values.remove("using");
+        if (how != null && !"UNSET".equals(how)) {
+            values.put(how, using == null ? "" : using);
+        }
+        if (values.size() != 1) {
+            error(field, "@FindBy должен задавать ровно один локатор");
+            return null;
+        }
+        Map.Entry<String, String> value = values.entrySet().iterator().next();
+        String factory = ATTRIBUTES.containsKey(value.getKey())
+                ? ATTRIBUTES.get(value.getKey()) : HOWS.get(value.getKey());
+        String expression = value.getValue();
+        if (factory == null || expression.trim().isEmpty()) {
+            error(field, "Пустой или неизвестный локатор @FindBy");
+            return null;
+        }
+        if (factory.equals("By.xpath")) {
+            try {
+                XPathFactory.newInstance().newXPath().compile(expression);
+            } catch (XPathExpressionException e) {
+                error(field, "Неверный XPath \"" + expression + "\": "
+                        + e.getMessage());
+                return null;
+            }
+        } else if (factory.equals("By.cssSelector")
+                && !isBalanced(expression)) {
+            error(field, "Неверный CSS селектор \"" + expression + "\"");
+            return null;
+        }
+        return factory + "(" + processingEnv.getElementUtils()
+                .getConstantExpression(expression) + ")";
+    }
+
+    /**
+     * Checks brackets and quotes of CSS selector are closed.
+     * @param selector CSS selector
+     * @return are brackets and quotes balanced
+     */
+    private static boolean isBalanced(final String selector) {
+        int brackets = 0;
+        int parentheses = 0;
+        char quote = 0;
+        for (char symbol : selector.toCharArray()) {
+            if (quote != 0) {
+                if (symbol == quote) {
+                    quote = 0;
+                }
+            } else if (symbol == '\'' || symbol == '"') {
+                quote = symbol;
+            } else if (symbol == '[') {
+                brackets++;
+            } else if (symbol == ']') {
+                brackets--;
+            } else if (symbol == '(') {
+                parentheses++;
+            } else if (symbol == ')') {
+                parentheses--;
+            }
+            if (brackets < 0 || parentheses < 0) {
+                return false;
+            }
+        }
+        return quote == 0 && brackets == 0 && parentheses == 0;
+    }
+
+    /**
+     * Reports compilation error.
+     * @param element element with error
+     * @param message error message
+     */
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                message, element);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package contains build time code generators for tests.
+ */
+package processor;
@@ -0,0 +1,175 @@
+package helpers;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets browser sessions be created only while the grid has free slots.
+ * Every alive session holds a slot until it is quit, so idle pooled,
+ * warm-up and prefetched sessions count against grid capacity too.
+ * Threads wait for a slot in arrival order.
+ */
+public final class AdmissionController {
+
+    /**
+     * Free grid slots.
+     */
+    private final Semaphore slots;
+
+    /**
+     * Grid capacity.
+     */
+    private final int capacity;
+
+    /**
+     * Slot wait timeout in seconds.
+     */
+    private final int timeout;
+
+    /**
+     * Sessions holding a slot.
+     */
+    private final Map<WebDriver, Boolean> admitted =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Number of admitted leases.
+     */
+    private final AtomicLong admissions = new AtomicLong();
+
+    /**
+     * Total time spent waiting for slots in milliseconds.
+     */
+    private final AtomicLong totalWait = new AtomicLong();
+
+    /**
+     * Largest number of threads seen waiting for a slot.
+     */
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    /**
+     * Controller constructor.
+     * @param gridCapacity number of sessions grid runs at once
+     * @param timeoutSeconds slot wait timeout
+     */
+    AdmissionController(final int gridCapacity, final int timeoutSeconds) {
+        this.capacity = gridCapacity;
+        this.timeout = timeoutSeconds;
+        this.slots = new Semaphore(gridCapacity, true);
+    }
+
+    /**
+     * Waits for free grid slot.
+     * @return wait time in milliseconds
+     * @throws IllegalStateException when slot is not freed in time
+     */
+    long acquire() throws IllegalStateException {
+        long startTime = System.currentTimeMillis();
+        try {
+            if (slots.availablePermits() == 0) {
+                maxQueueDepth.accumulateAndGet(getQueueDepth() + 1,
+                        Math::max);
+            }
+            if (!slots.tryAcquire(timeout, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No free grid slot for "
+                        + timeout + " seconds, queue depth "
+                        + getQueueDepth());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Grid slot wait interrupted", e);
+        }
+        long wait = System.currentTimeMillis() - startTime;
+        admissions.incrementAndGet();
+        totalWait.addAndGet(wait);
+        return wait;
+    }
+
+    /**
+     * Binds acquired slot to the created session.
+     * @param driver browser driver
+     */
+    void admit(final WebDriver driver) {
+        admitted.put(driver, Boolean.TRUE);
+    }
+
+    /**
+     * Frees slot acquired without creating a session.
+     */
+    void cancel() {
+        slots.release();
+    }
+
+    /**
+     * Frees slot of the quit session.
+     * @param driver browser driver
+     */
+    void release(final WebDriver driver) {
+        if (admitted.remove(driver) != null) {
+            slots.release();
+        }
+    }
+
+    /**
+     * Checks a slot is free and no thread waits for one.
+     * @return can slot be taken without delaying other threads
+     */
+    boolean hasFreeSlot() {
+        return slots.availablePermits() > 0 && !slots.hasQueuedThreads();
+    }
+
+    /**
+     * Gets grid capacity.
+     * @return number of sessions grid runs at once
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets number of threads waiting for a slot.
+     * @return queue depth
+     */
+    public int getQueueDepth() {
+        return slots.getQueueLength();
+    }
+
+    /**
+     * Gets largest number of threads seen waiting for a slot.
+     * @return largest queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Gets number of sessions holding a slot.
+     * @return alive admitted sessions
+     */
+    public int getAdmitted() {
+        return admitted.size();
+    }
+
+    /**
+     * Gets number of slots acquired during the run.
+     * @return admissions count
+     */
+    public long getAdmissions() {
+        return admissions.get();
+    }
+
+    /**
+     * Gets average slot wait time.
+     * @return average wait in milliseconds
+     */
+    public long getAverageWait() {
+        long count = admissions.get();
+        return count == 0 ? 0 : totalWait.get() / count;
+    }
+}
@@ -0,0 +1,157 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waits for Angular to become idle after every click, input and
+ * navigation, like Protractor waitForAngular. Enabled by
+ * "angularAutoSync".
+ */
+public final class AngularSync extends AbstractWebDriverEventListener {
+
+    /**
+     * Resolves when ui-router transition in progress is settled and
+     * Angular has no outstanding requests and timeouts. Resolves with
+     * error message when Angular is not usable on the page.
+     */
+    private static final String WAIT_FOR_ANGULAR =
+            "var done = arguments[arguments.length - 1];"
+                    + " if (!window.angular) { done(null); return; }"
+                    + " try {"
+                    + " var root = document.querySelector('[ng-app],"
+                    + " [data-ng-app], .ng-scope') || document.body;"
+                    + " var injector = angular.element(root).injector();"
+                    + " if (!injector) { done(null); return; }"
+                    + " var browser = injector.get('$browser');"
+                    + " var idle = function () {"
+                    + " browser.notifyWhenNoOutstandingRequests("
+                    + "function () { done(null); }); };"
+                    + " var state = injector.has('$state')"
+                    + " ? injector.get('$state') : null;"
+                    + " var transition = state && state.transition;"
+                    + " if (transition) {"
+                    + " (transition.promise || transition).then(idle, idle);"
+                    + " } else { idle(); }"
+                    + " } catch (e) { done(String(e)); }";
+
+    /**
+     * Drivers wrapped by {@link #wrap(WebDriver)}.
+     */
+    private static final Set<WebDriver> SYNCHRONIZED =
+            Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Listener is created by {@link #wrap(WebDriver)}.
+     */
+    private AngularSync() {
+    }
+
+    /**
+     * Wraps driver into auto synchronizing one when enabled. Event firing
+     * driver gets the listener without wrapping again.
+     * @param driver browser driver
+     * @return synchronizing driver or the same driver when disabled
+     */
+    public static WebDriver wrap(final WebDriver driver) {
+        if (!Boolean.parseBoolean(ParametersProvider
+                .getProperty("angularAutoSync"))) {
+            return driver;
+        }
+        EventFiringWebDriver synced = driver instanceof EventFiringWebDriver
+                ? (EventFiringWebDriver) driver
+                : new EventFiringWebDriver(driver);
+        synced.register(new AngularSync());
+        SYNCHRONIZED.add(synced);
+        return synced;
+    }
+
+    /**
+     * Stops treating driver as synchronizing by itself, called when test
+     * invocation returns its driver.
+     * @param driver driver returned by {@link #wrap(WebDriver)}
+     */
+    public static void untrack(final WebDriver driver) {
+        SYNCHRONIZED.remove(driver);
+    }
+
+    /**
+     * Gets plain driver of event firing one.
+     * @param driver wrapped or plain browser driver
+     * @return plain browser driver
+     */
+    public static WebDriver unwrap(final WebDriver driver) {
+        if (driver instanceof EventFiringWebDriver) {
+            return ((EventFiringWebDriver) driver).getWrappedDriver();
+        }
+        return driver;
+    }
+
+    /**
+     * Checks driver synchronizes with Angular by itself.
+     * @param driver browser driver
+     * @return is driver wrapped by {@link #wrap(WebDriver)}
+     */
+    public static boolean isSynchronized(final WebDriver driver) {
+        return SYNCHRONIZED.contains(driver);
+    }
+
+    /**
+     * Waits until Angular is idle with single remote call.
+     * @param driver browser driver
+     */
+    public static void waitForAngular(final WebDriver driver) {
+        try {
+            Object error = ((JavascriptExecutor) unwrap(driver))
+                    .executeAsyncScript(WAIT_FOR_ANGULAR);
+            if (error != null) {
+                System.out.println("Синхронизация с Angular не выполнена: "
+                        + error);
+            }
+        } catch (WebDriverException e) {
+            System.out.println("Синхронизация с Angular прервана: "
+                    + e.getMessage());
+        }
+    }
+
+    @Override
+    public void afterClickOn(final WebElement element,
+                             final WebDriver driver) {
+        waitForAngular(driver);
+    }
+
+    @Override
+    public void afterChangeValueOf(final WebElement element,
+                                   final WebDriver driver,
+                                   final CharSequence[] keysToSend) {
+        waitForAngular(driver);
+    }
+
+    @Override
+    public void afterNavigateTo(final String url, final WebDriver driver) {
+        waitForAngular(driver);
+    }
+
+    @Override
+    public void afterNavigateBack(final WebDriver driver) {
+        waitForAngular(driver);
+    }
+
+    @Override
+    public void afterNavigateForward(final WebDriver driver) {
+        waitForAngular(driver);
+    }
+
+    @Override
+    public void afterNavigateRefresh(final WebDriver driver) {
+        waitForAngular(driver);
+    }
+}
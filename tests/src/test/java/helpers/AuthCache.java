@@ -0,0 +1,272 @@
+package helpers;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import pages.EstimatesPage;
+import pages.LoginPage;
+
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs in through the UI once per role and logs later sessions in by
+ * injecting captured cookies and web storage.
+ */
+public final class AuthCache {
+
+    /**
+     * Application user role with its configuration keys.
+     */
+    public enum Role {
+        /**
+         * Administrator.
+         */
+        ADMIN("adminLogin", "adminPassword"),
+
+        /**
+         * Moderator.
+         */
+        MODERATOR("moderator", "moderatorPassword"),
+
+        /**
+         * Estimator.
+         */
+        ESTIMATOR("estimator", "estimatorPassword");
+
+        /**
+         * Login configuration key.
+         */
+        private final String loginKey;
+
+        /**
+         * Password configuration key.
+         */
+        private final String passwordKey;
+
+        /**
+         * Role constructor.
+         * @param login login configuration key
+         * @param password password configuration key
+         */
+        Role(final String login, final String password) {
+            this.loginKey = login;
+            this.passwordKey = password;
+        }
+    }
+
+    /**
+     * Authenticated state captured after UI login.
+     */
+    private static final class AuthState {
+        /**
+         * Session cookies.
+         */
+        private final Set<Cookie> cookies;
+
+        /**
+         * Local and session storage as JSON.
+         */
+        private final String storage;
+
+        /**
+         * Page opened after login.
+         */
+        private final String landingUrl;
+
+        /**
+         * Capture time.
+         */
+        private final long capturedAt;
+
+        /**
+         * State constructor.
+         * @param sessionCookies session cookies
+         * @param webStorage local and session storage as JSON
+         * @param url page opened after login
+         */
+        private AuthState(final Set<Cookie> sessionCookies,
+                          final String webStorage, final String url) {
+            this.cookies = sessionCookies;
+            this.storage = webStorage;
+            this.landingUrl = url;
+            this.capturedAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Checks captured state is outdated.
+         * @param ttl state lifetime in milliseconds, 0 is unlimited
+         * @return is state expired
+         */
+        private boolean isExpired(final long ttl) {
+            if (ttl > 0 && System.currentTimeMillis() - capturedAt >= ttl) {
+                return true;
+            }
+            Date now = new Date();
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null
+                        && cookie.getExpiry().before(now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads local and session storage of the page.
+     */
+    private static final String READ_STORAGE =
+            "var dump = function (storage) { var items = {};"
+                    + " for (var i = 0; i < storage.length; i++) {"
+                    + " var key = storage.key(i);"
+                    + " items[key] = storage.getItem(key); }"
+                    + " return items; };"
+                    + " return JSON.stringify({local: dump(localStorage),"
+                    + " session: dump(sessionStorage)});";
+
+    /**
+     * Writes local and session storage of the page.
+     */
+    private static final String WRITE_STORAGE =
+            "var state = JSON.parse(arguments[0]);"
+                    + " Object.keys(state.local).forEach(function (key) {"
+                    + " localStorage.setItem(key, state.local[key]); });"
+                    + " Object.keys(state.session).forEach(function (key) {"
+                    + " sessionStorage.setItem(key, state.session[key]); });";
+
+    /**
+     * Captured states by role.
+     */
+    private static final Map<Role, AuthState> STATES =
+            new EnumMap<>(Role.class);
+
+    /**
+     * Not called.
+     */
+    private AuthCache() {
+    }
+
+    /**
+     * Logs session in as the role and opens estimates page.
+     * Session should be on the application login page.
+     * @param driver browser driver
+     * @param role user role
+     */
+    public static void login(final WebDriver driver, final Role role) {
+        AuthState state = getState(role);
+        if (state != null && inject(driver, state)) {
+            return;
+        }
+        synchronized (role) {
+            state = getState(role);
+            if (state != null && inject(driver, state)) {
+                return;
+            }
+            setState(role, loginThroughUi(driver, role));
+        }
+    }
+
+    /**
+     * Gets cached state of the role if it is not expired.
+     * @param role user role
+     * @return authenticated state or null
+     */
+    private static AuthState getState(final Role role) {
+        long ttl = TimeUnit.SECONDS.toMillis(
+                ParametersProvider.getIntProperty("authCacheTtl", 0));
+        synchronized (STATES) {
+            AuthState state = STATES.get(role);
+            if (state != null && state.isExpired(ttl)) {
+                STATES.remove(role);
+                return null;
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Caches state of the role.
+     * @param role user role
+     * @param state authenticated state
+     */
+    private static void setState(final Role role, final AuthState state) {
+        synchronized (STATES) {
+            STATES.put(role, state);
+        }
+    }
+
+    /**
+     * Logs in through login page and captures authenticated state.
+     * @param driver browser driver
+     * @param role user role
+     * @return authenticated state
+     */
+    private static AuthState loginThroughUi(final WebDriver driver,
+                                            final Role role) {
+        new LoginPage(driver).login(
+                ParametersProvider.getProperty(role.loginKey),
+                ParametersProvider.getProperty(role.passwordKey));
+        String storage = (String) ((JavascriptExecutor) driver)
+                .executeScript(READ_STORAGE);
+        return new AuthState(new HashSet<>(driver.manage().getCookies()),
+                storage, driver.getCurrentUrl());
+    }
+
+    /**
+     * Probes injected state without waiting for estimates page: asks API
+     * when it is configured, otherwise lets Angular settle the redirect
+     * and checks application did not return to login page.
+     * @param driver browser driver with injected state
+     * @return is state accepted
+     */
+    private static boolean isAccepted(final WebDriver driver) {
+        if (EstimateApi.isConfigured()) {
+            try {
+                EstimateApi.forSession(driver).listEstimates();
+                return true;
+            } catch (EstimateApi.ApiException e) {
+                if (e.isUnauthorized()) {
+                    return false;
+                }
+            } catch (UncheckedIOException e) {
+                System.out.println("Проверка входа через API не выполнена: "
+                        + e.getMessage());
+            }
+        }
+        AngularSync.waitForAngular(driver);
+        return !driver.getCurrentUrl().contains(LoginPage.getUrl());
+    }
+
+    /**
+     * Injects authenticated state and checks it is still accepted with
+     * short probe, so rejected state falls back to UI login at once.
+     * Wipes injected state when application asks to log in again.
+     * @param driver browser driver
+     * @param state authenticated state
+     * @return is session logged in
+     */
+    private static boolean inject(final WebDriver driver,
+                                  final AuthState state) {
+        for (Cookie cookie : state.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE,
+                state.storage);
+        driver.get(state.landingUrl);
+        if (isAccepted(driver) && PageObjectUtils.checkPageIsPresentByUrl(
+                driver, EstimatesPage.getUrl())) {
+            return true;
+        }
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(
+                "localStorage.clear(); sessionStorage.clear();");
+        driver.get(ParametersProvider.getProperty("webUrl"));
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+package helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Collects test data created by tests and deletes it in batches at suite
+ * end, off the test threads. Also sweeps test data left by earlier runs.
+ */
+public final class CleanupRegistry {
+
+    /**
+     * Estimate waiting for deletion.
+     */
+    private static final class Entry {
+        /**
+         * API client authenticated as estimate owner.
+         */
+        private final EstimateApi api;
+
+        /**
+         * Estimate id.
+         */
+        private final String estimateId;
+
+        /**
+         * Entry constructor.
+         * @param client API client
+         * @param id estimate id
+         */
+        private Entry(final EstimateApi client, final String id) {
+            this.api = client;
+            this.estimateId = id;
+        }
+    }
+
+    /**
+     * Estimates waiting for deletion.
+     */
+    private static final Queue<Entry> ENTRIES = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Not called.
+     */
+    private CleanupRegistry() {
+    }
+
+    /**
+     * Registers estimate for deletion at suite end.
+     * @param api API client authenticated as estimate owner
+     * @param estimateId estimate id
+     */
+    public static void register(final EstimateApi api,
+                                final String estimateId) {
+        ENTRIES.add(new Entry(api, estimateId));
+    }
+
+    /**
+     * Deletes all registered estimates in parallel batches of
+     * "cleanupBatchSize" and waits for it.
+     */
+    public static void flush() {
+        List<Entry> entries = new ArrayList<>();
+        Entry entry;
+        while ((entry = ENTRIES.poll()) != null) {
+            entries.add(entry);
+        }
+        List<Runnable> deletions = new ArrayList<>();
+        for (Entry registered : entries) {
+            deletions.add(() -> registered.api
+                    .deleteEstimate(registered.estimateId));
+        }
+        runBatched(deletions);
+    }
+
+    /**
+     * Deletes estimates of test clients left by earlier runs, only names
+     * made by {@link TestData#unique(String)} are matched.
+     * @param api API client authenticated as administrator
+     * @param clientNames base names of clients created by tests
+     */
+    public static void sweep(final EstimateApi api,
+                             final Collection<String> clientNames) {
+        List<Runnable> deletions = new ArrayList<>();
+        for (EstimateApi.Estimate estimate : api.listEstimates()) {
+            if (isStale(estimate.getClientName(), clientNames)) {
+                deletions.add(() -> api.deleteEstimate(estimate.getId()));
+            }
+        }
+        if (!deletions.isEmpty()) {
+            System.out.println("Удаление оставшихся тестовых оценок: "
+                    + deletions.size());
+        }
+        runBatched(deletions);
+    }
+
+    /**
+     * Checks client was created by earlier run.
+     * @param clientName client name
+     * @param baseNames base names of clients created by tests
+     * @return is client left by earlier run
+     */
+    private static boolean isStale(final String clientName,
+                                   final Collection<String> baseNames) {
+        for (String baseName : baseNames) {
+            if (TestData.isStale(clientName, baseName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs deletions in parallel batches and waits for them.
+     * @param deletions deletions to run
+     */
+    private static void runBatched(final List<Runnable> deletions) {
+        if (deletions.isEmpty()) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, ParametersProvider.getIntProperty(
+                        "cleanupBatchSize", 5)));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable deletion : deletions) {
+                futures.add(executor.submit(deletion));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    System.out.println("Тестовые данные не удалены: "
+                            + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
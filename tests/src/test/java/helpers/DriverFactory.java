@@ -5,16 +5,72 @@ import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
-import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.io.IOException;
-import java.net.URL;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Browser driver factory.
  */
 public final class DriverFactory {
+    /**
+     * Shared pool of warm browser sessions.
+     */
+    private static DriverPool pool;
+
+    /**
+     * Router of remote sessions between Selenium hubs.
+     */
+    private static GridRouter router;
+
+    /**
+     * Grid slots admission controller.
+     */
+    private static AdmissionController admission;
+
+    /**
+     * Is admission controller initialized.
+     */
+    private static boolean admissionInitialized;
+
+    /**
+     * Selenium hub used when "seleniumUrl" is not configured.
+     */
+    private static final String DEFAULT_SELENIUM_URL =
+            "http://localhost:4444/wd/hub";
+
+    /**
+     * Script timeout over in-page wait timeout in milliseconds.
+     */
+    private static final int SCRIPT_TIMEOUT_MARGIN = 5000;
+
+    /**
+     * Creates sessions in background.
+     */
+    private static final ExecutorService SESSION_EXECUTOR =
+            Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "driver-async");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Session prefetched by current thread, is not visible to other threads.
+     */
+    private static final ThreadLocal<CompletableFuture<WebDriver>>
+            PREFETCHED = new ThreadLocal<>();
+
+    /**
+     * Allows one prefetched session not taken by a test per suite.
+     */
+    private static final Semaphore PREFETCH_PERMIT = new Semaphore(1);
+
     /**
      * Not called.
      */
@@ -36,30 +92,60 @@ public final class DriverFactory {
     /**
      *  Get browser name.
      * @param browserName
+     * @param profile browser launch profile
      * @return browser
      */
-    private static WebDriver getDriver(final String browserName) {
+    private static WebDriver getDriver(final String browserName,
+                                       final LaunchProfile profile) {
         switch (browserName) {
             case "chrome": case "opera":
-                return new ChromeDriver();
+                return new ChromeDriver(profile.chromeOptions());
             case "firefox":
-                return new FirefoxDriver();
+                return new FirefoxDriver(profile.firefoxOptions());
             case "edge":
-                return new EdgeDriver();
+                return new EdgeDriver(profile.edgeOptions());
             default:
                 throw new IllegalStateException("Chosen browser not supported");
         }
     }
 
     /**
-     * Creates a browser driver using configuration.
+     * Creates a browser driver using configuration once grid has a free
+     * slot. The slot is held until the driver is quit.
      * @return browser driver
      * @throws IOException when config file is not available
-     * @throws IllegalStateException when unsupported browser chosen
+     * @throws IllegalStateException when unsupported browser chosen or
+     *                               no grid slot is freed in time
      */
     public static WebDriver createDriver() throws IOException,
             IllegalStateException {
+        AdmissionController controller = getAdmission();
+        if (controller == null) {
+            return openSession();
+        }
+        long wait = controller.acquire();
+        WebDriver driver;
+        try {
+            driver = openSession();
+        } catch (IOException | RuntimeException e) {
+            controller.cancel();
+            throw e;
+        }
+        controller.admit(driver);
+        SessionMetrics.record(driver, SessionMetrics.ADMISSION, wait);
+        return driver;
+    }
+
+    /**
+     * Starts browser session using configuration.
+     * @return browser driver
+     * @throws IOException when config file is not available
+     * @throws IllegalStateException when unsupported browser chosen
+     */
+    private static WebDriver openSession() throws IOException,
+            IllegalStateException {
         WebDriver driver;
+        long startTime = System.currentTimeMillis();
         DesiredCapabilities capabilities = new DesiredCapabilities();
         String browserName = ParametersProvider.getProperty("browserName");
         String browserVersion = ParametersProvider
@@ -68,18 +154,280 @@ public final class DriverFactory {
                 .getProperty("remote"));
         int pageLoadTimeout = Integer.parseInt(ParametersProvider
                 .getProperty("pageLoadTimeout"));
+        LaunchProfile profile = LaunchProfile.fromConfig();
         if (remote) {
+            capabilities.merge(profile.remoteOptions(browserName));
             capabilities.setBrowserName(browserName);
             capabilities.setVersion(browserVersion);
-            capabilities.setCapability("enableVNC", true);
-            driver = new RemoteWebDriver(
-                    new URL("http://localhost:4444/wd/hub"), capabilities);
+            capabilities.setCapability("enableVNC", profile.isVncEnabled());
+            driver = getRouter().createDriver(capabilities);
         } else {
             trySetDriverPath(browserName);
-            driver = getDriver(browserName);
+            driver = getDriver(browserName, profile);
         }
         driver.manage().timeouts().pageLoadTimeout(pageLoadTimeout,
                 TimeUnit.SECONDS);
+        driver.manage().timeouts().setScriptTimeout(
+                ParametersProvider.getIntProperty("domStableTimeout", 10000)
+                        + SCRIPT_TIMEOUT_MARGIN, TimeUnit.MILLISECONDS);
+        SessionMetrics.onCreated(driver,
+                System.currentTimeMillis() - startTime);
         return driver;
     }
+
+    /**
+     * Quits browser driver and frees its Selenium hub slot.
+     * @param driver browser driver
+     */
+    public static void quitDriver(final WebDriver driver) {
+        GridRouter gridRouter = router;
+        if (gridRouter != null) {
+            gridRouter.onQuit(driver);
+        }
+        SessionMetrics.onQuit(driver);
+        try {
+            driver.quit();
+        } finally {
+            AdmissionController controller = admission;
+            if (controller != null) {
+                controller.release(driver);
+            }
+        }
+    }
+
+    /**
+     * Gets router of remote sessions, creates it on first call.
+     * Hubs are listed comma separated in "seleniumUrl".
+     * @return Selenium hubs router
+     * @throws IOException when hub URL is malformed
+     */
+    private static synchronized GridRouter getRouter() throws IOException {
+        if (router == null) {
+            String seleniumUrl = ParametersProvider.getProperty("seleniumUrl");
+            if (seleniumUrl.isEmpty()) {
+                seleniumUrl = DEFAULT_SELENIUM_URL;
+            }
+            router = new GridRouter(seleniumUrl,
+                    ParametersProvider.getIntProperty("gridHubCapacity", 1),
+                    ParametersProvider.getIntProperty(
+                            "gridStatusInterval", 5));
+        }
+        return router;
+    }
+
+    /**
+     * Gets grid slots admission controller, creates it on first call.
+     * Capacity is read from "gridCapacity" or from remote hubs status.
+     * @return admission controller or null when capacity is unknown
+     * @throws IOException when hub URL is malformed
+     */
+    public static synchronized AdmissionController getAdmission()
+            throws IOException {
+        if (!admissionInitialized) {
+            admissionInitialized = true;
+            int capacity = ParametersProvider.getIntProperty(
+                    "gridCapacity", 0);
+            if (capacity <= 0 && Boolean.parseBoolean(
+                    ParametersProvider.getProperty("remote"))) {
+                capacity = getRouter().totalSlots();
+            }
+            if (capacity > 0) {
+                admission = new AdmissionController(capacity,
+                        ParametersProvider.getIntProperty(
+                                "admissionTimeout", 600));
+                SessionMetrics.watch(admission);
+            }
+        }
+        return admission;
+    }
+
+    /**
+     * Gets shared session pool, creates it on first call. Pool is not
+     * larger than grid capacity, so a lease never waits for a slot held
+     * by idle pooled session.
+     * @return session pool or null when pooling is disabled
+     * @throws IOException when hub URL is malformed
+     */
+    private static synchronized DriverPool getPool() throws IOException {
+        int poolSize = ParametersProvider.getIntProperty("driverPoolSize", 0);
+        AdmissionController controller = getAdmission();
+        if (controller != null) {
+            poolSize = Math.min(poolSize, controller.getCapacity());
+        }
+        if (pool == null && poolSize > 0) {
+            pool = new DriverPool(DriverFactory::createDriver,
+                    DriverFactory::quitDriver, SessionReset::reset, poolSize,
+                    ParametersProvider.getIntProperty("driverPoolMaxUses", 0),
+                    ParametersProvider.getIntProperty(
+                            "driverPoolIdleTimeout", 0),
+                    ParametersProvider.getIntProperty(
+                            "driverPoolLeaseTimeout", 600));
+            pool.warmUp(ParametersProvider.getIntProperty(
+                    "driverPoolWarmUp", 0));
+            final DriverPool shutdownPool = pool;
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(shutdownPool::shutdown));
+        }
+        return pool;
+    }
+
+    /**
+     * Quits pooled sessions, so their lifetime is recorded before session
+     * metrics are written. Sessions returned later are quit directly.
+     */
+    public static void shutdownPool() {
+        DriverPool driverPool;
+        synchronized (DriverFactory.class) {
+            driverPool = pool;
+            pool = null;
+        }
+        if (driverPool != null) {
+            driverPool.shutdown();
+        }
+    }
+
+    /**
+     * Gets browser driver prefetched by current thread or leases it from
+     * session pool.
+     * @return browser driver
+     * @throws IOException when config file is not available
+     * @throws IllegalStateException when session can not be leased
+     */
+    public static WebDriver acquireDriver() throws IOException,
+            IllegalStateException {
+        long startTime = System.currentTimeMillis();
+        WebDriver driver = null;
+        CompletableFuture<WebDriver> prefetched = PREFETCHED.get();
+        if (prefetched != null) {
+            PREFETCHED.remove();
+            try {
+                driver = prefetched.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                prefetched.thenAccept(DriverFactory::releaseDriver);
+                throw new IllegalStateException("Browser session not leased",
+                        e);
+            } catch (ExecutionException e) {
+                System.out.println("Заранее созданная сессия браузера "
+                        + "недоступна: " + e.getCause());
+            } finally {
+                PREFETCH_PERMIT.release();
+            }
+        }
+        if (driver == null) {
+            driver = leaseDriver();
+        }
+        SessionMetrics.record(driver, SessionMetrics.QUEUE,
+                System.currentTimeMillis() - startTime);
+        return driver;
+    }
+
+    /**
+     * Creates browser driver in background.
+     * @return future browser driver
+     */
+    public static CompletableFuture<WebDriver> createDriverAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return leaseDriver();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, SESSION_EXECUTOR);
+    }
+
+    /**
+     * Starts browser driver creation for the next acquireDriver call
+     * of current thread. Only one prefetched session is held per suite,
+     * and it is taken only from spare sessions and grid slots, so
+     * prefetch never delays threads waiting for a session.
+     */
+    public static void prefetchDriver() {
+        if (PREFETCHED.get() != null || !PREFETCH_PERMIT.tryAcquire()) {
+            return;
+        }
+        PREFETCHED.set(CompletableFuture.supplyAsync(() -> {
+            try {
+                return leaseSpareDriver();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, SESSION_EXECUTOR));
+    }
+
+    /**
+     * Releases browser driver prefetched by current thread and not used.
+     */
+    public static void cancelPrefetch() {
+        CompletableFuture<WebDriver> prefetched = PREFETCHED.get();
+        if (prefetched != null) {
+            PREFETCHED.remove();
+            prefetched.whenComplete((driver, error) -> {
+                if (driver != null) {
+                    releaseDriver(driver);
+                }
+                PREFETCH_PERMIT.release();
+            });
+        }
+    }
+
+    /**
+     * Leases browser driver only when it takes no session or grid slot
+     * another thread waits for.
+     * @return browser driver or null when there is no spare session
+     * @throws IOException when config file is not available
+     * @throws IllegalStateException when session can not be created
+     */
+    private static WebDriver leaseSpareDriver() throws IOException,
+            IllegalStateException {
+        AdmissionController controller = getAdmission();
+        boolean freeSlot = controller == null || controller.hasFreeSlot();
+        DriverPool driverPool = getPool();
+        if (driverPool == null) {
+            return freeSlot ? createDriver() : null;
+        }
+        try {
+            return driverPool.tryLease(freeSlot);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Browser session not leased", e);
+        }
+    }
+
+    /**
+     * Leases browser driver from session pool.
+     * Creates a new driver when pooling is disabled.
+     * @return browser driver
+     * @throws IOException when config file is not available
+     * @throws IllegalStateException when session can not be leased
+     */
+    private static WebDriver leaseDriver() throws IOException,
+            IllegalStateException {
+        DriverPool driverPool = getPool();
+        if (driverPool == null) {
+            return createDriver();
+        }
+        try {
+            return driverPool.lease();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Browser session not leased", e);
+        }
+    }
+
+    /**
+     * Returns browser driver to session pool.
+     * Quits the driver when pooling is disabled.
+     * @param driver browser driver
+     */
+    public static void releaseDriver(final WebDriver driver) {
+        DriverPool driverPool = pool;
+        if (driverPool == null) {
+            quitDriver(driver);
+        } else {
+            driverPool.release(driver);
+        }
+    }
 }
@@ -0,0 +1,342 @@
+package helpers;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bounded pool of warm browser sessions shared by all test classes.
+ */
+final class DriverPool {
+
+    /**
+     * Session held by the pool.
+     */
+    private static final class PooledDriver {
+        /**
+         * Browser driver.
+         */
+        private final WebDriver driver;
+
+        /**
+         * How many times session was leased.
+         */
+        private int uses;
+
+        /**
+         * Time when session was returned to the pool.
+         */
+        private long idleSince;
+
+        /**
+         * Pooled session constructor.
+         * @param webDriver browser driver
+         */
+        private PooledDriver(final WebDriver webDriver) {
+            this.driver = webDriver;
+            this.idleSince = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Sessions ready to be leased, most recently used first.
+     */
+    private final BlockingDeque<PooledDriver> idle =
+            new LinkedBlockingDeque<>();
+
+    /**
+     * Sessions leased by tests.
+     */
+    private final Map<WebDriver, PooledDriver> leased =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creates new browser sessions.
+     */
+    private final Callable<WebDriver> factory;
+
+    /**
+     * Quits browser sessions.
+     */
+    private final Consumer<WebDriver> destroyer;
+
+    /**
+     * Clears browser state left by previous test, tells if it succeeded.
+     */
+    private final Predicate<WebDriver> resetter;
+
+    /**
+     * Background spawner and idle evictor.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Maximum number of sessions alive at once.
+     */
+    private final int maxSize;
+
+    /**
+     * Maximum number of leases per session.
+     */
+    private final int maxUses;
+
+    /**
+     * Idle session lifetime in milliseconds.
+     */
+    private final long idleTimeout;
+
+    /**
+     * Free session wait timeout in milliseconds.
+     */
+    private final long leaseTimeout;
+
+    /**
+     * Number of sessions alive or being created.
+     */
+    private int size;
+
+    /**
+     * Number of threads leasing a session.
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Pool constructor.
+     * @param driverFactory creates new browser sessions
+     * @param driverDestroyer quits browser sessions
+     * @param driverResetter clears browser state, tells if it succeeded
+     * @param poolMaxSize maximum number of sessions alive at once
+     * @param poolMaxUses maximum number of leases per session,
+     *                    0 is unlimited
+     * @param idleTimeoutSeconds idle session lifetime, 0 is unlimited
+     * @param leaseTimeoutSeconds free session wait timeout
+     */
+    DriverPool(final Callable<WebDriver> driverFactory,
+               final Consumer<WebDriver> driverDestroyer,
+               final Predicate<WebDriver> driverResetter,
+               final int poolMaxSize,
+               final int poolMaxUses,
+               final int idleTimeoutSeconds,
+               final int leaseTimeoutSeconds) {
+        this.factory = driverFactory;
+        this.destroyer = driverDestroyer;
+        this.resetter = driverResetter;
+        this.maxSize = poolMaxSize;
+        this.maxUses = poolMaxUses;
+        this.idleTimeout = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.leaseTimeout = TimeUnit.SECONDS.toMillis(leaseTimeoutSeconds);
+        this.executor = Executors.newScheduledThreadPool(poolMaxSize,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "driver-pool");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        if (idleTimeoutSeconds > 0) {
+            executor.scheduleWithFixedDelay(this::evictIdle,
+                    idleTimeoutSeconds, idleTimeoutSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Starts sessions creation in background.
+     * @param count number of sessions to pre-spawn
+     */
+    void warmUp(final int count) {
+        for (int i = 0; i < count; i++) {
+            if (!reserveSlot()) {
+                return;
+            }
+            executor.execute(this::spawn);
+        }
+    }
+
+    /**
+     * Leases session from the pool, waits for free one when pool is full.
+     * @return browser driver
+     * @throws IllegalStateException when no session is freed in time
+     * @throws Exception when session can not be created
+     */
+    WebDriver lease() throws Exception {
+        long deadline = System.currentTimeMillis() + leaseTimeout;
+        waiting.incrementAndGet();
+        try {
+            while (true) {
+                PooledDriver pooled = idle.pollFirst();
+                if (pooled == null && reserveSlot()) {
+                    pooled = create();
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (pooled == null && remaining > 0) {
+                    pooled = idle.pollFirst(Math.min(remaining,
+                            TimeUnit.SECONDS.toMillis(1)),
+                            TimeUnit.MILLISECONDS);
+                }
+                if (pooled != null) {
+                    return lend(pooled);
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new IllegalStateException("No free browser session"
+                            + " for " + TimeUnit.MILLISECONDS.toSeconds(
+                                    leaseTimeout) + " seconds, "
+                            + leased.size() + " of " + maxSize
+                            + " sessions leased");
+                }
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Leases spare session without waiting: idle one, or new one when
+     * creation is allowed and pool is not full. Nothing is leased while
+     * other threads wait for a session.
+     * @param mayCreate can new session be created
+     * @return browser driver or null when there is no spare session
+     * @throws Exception when session can not be created
+     */
+    WebDriver tryLease(final boolean mayCreate) throws Exception {
+        if (waiting.get() > 0) {
+            return null;
+        }
+        PooledDriver pooled = idle.pollFirst();
+        if (pooled == null && mayCreate && reserveSlot()) {
+            pooled = create();
+        }
+        return pooled == null ? null : lend(pooled);
+    }
+
+    /**
+     * Returns session to the pool after reset.
+     * Worn out or broken sessions are quit and replaced in background.
+     * @param driver browser driver
+     */
+    void release(final WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            destroyer.accept(driver);
+            return;
+        }
+        if (maxUses > 0 && pooled.uses >= maxUses
+                || !resetter.test(driver)) {
+            discard(pooled);
+            warmUp(1);
+            return;
+        }
+        pooled.idleSince = System.currentTimeMillis();
+        idle.offerFirst(pooled);
+    }
+
+    /**
+     * Quits all sessions.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+        for (PooledDriver leasedDriver : leased.values()) {
+            discard(leasedDriver);
+        }
+        leased.clear();
+    }
+
+    /**
+     * Marks session leased.
+     * @param pooled pooled session
+     * @return browser driver
+     */
+    private WebDriver lend(final PooledDriver pooled) {
+        pooled.uses++;
+        leased.put(pooled.driver, pooled);
+        return pooled.driver;
+    }
+
+    /**
+     * Creates session in background and puts it into the pool.
+     */
+    private void spawn() {
+        try {
+            idle.offerLast(create());
+        } catch (Exception e) {
+            System.out.println("Сессия браузера не создана: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates session for reserved slot.
+     * @return pooled session
+     * @throws Exception when session can not be created
+     */
+    private PooledDriver create() throws Exception {
+        try {
+            return new PooledDriver(factory.call());
+        } catch (Exception | Error e) {
+            freeSlot();
+            throw e;
+        }
+    }
+
+    /**
+     * Quits idle sessions which were not used for too long.
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledDriver> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            PooledDriver pooled = iterator.next();
+            if (now - pooled.idleSince >= idleTimeout
+                    && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+    }
+
+    /**
+     * Quits session and frees its slot.
+     * @param pooled pooled session
+     */
+    private void discard(final PooledDriver pooled) {
+        try {
+            destroyer.accept(pooled.driver);
+        } catch (WebDriverException e) {
+            System.out.println("Сессия браузера не закрыта: "
+                    + e.getMessage());
+        } finally {
+            freeSlot();
+        }
+    }
+
+    /**
+     * Reserves slot for new session.
+     * @return is slot reserved
+     */
+    private synchronized boolean reserveSlot() {
+        if (size >= maxSize) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Frees slot of closed session.
+     */
+    private synchronized void freeSlot() {
+        size--;
+    }
+}
@@ -0,0 +1,515 @@
+package helpers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Client of EstimateMe HTTP API for test data seeding and teardown.
+ * Contract with the backend is checked by EstimateApiContractTests,
+ * responses of the backend are saved to "apiRecordDir" when it is set
+ * and replayed by {@link EstimateApiStub}.
+ */
+public final class EstimateApi {
+
+    /**
+     * Request timeout in milliseconds.
+     */
+    private static final int TIMEOUT = 10000;
+
+    /**
+     * Resource names of API paths, other path segments are ids.
+     */
+    private static final List<String> RESOURCES =
+            Arrays.asList("estimates", "phases", "tasks");
+
+    /**
+     * Error response of the API.
+     */
+    public static final class ApiException extends IllegalStateException {
+        /**
+         * HTTP status of the response.
+         */
+        private final int status;
+
+        /**
+         * Exception constructor.
+         * @param message error message
+         * @param httpStatus HTTP status of the response
+         */
+        private ApiException(final String message, final int httpStatus) {
+            super(message);
+            this.status = httpStatus;
+        }
+
+        /**
+         * Getter for HTTP status.
+         * @return HTTP status of the response
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Checks the request was rejected as not authenticated.
+         * @return is status 401
+         */
+        public boolean isUnauthorized() {
+            return status == HttpURLConnection.HTTP_UNAUTHORIZED;
+        }
+    }
+
+    /**
+     * Estimate summary from estimates list.
+     */
+    public static final class Estimate {
+        /**
+         * Estimate id.
+         */
+        private final String id;
+
+        /**
+         * Client name.
+         */
+        private final String clientName;
+
+        /**
+         * Project name.
+         */
+        private final String projectName;
+
+        /**
+         * Estimate constructor.
+         * @param estimateId estimate id
+         * @param client client name
+         * @param project project name
+         */
+        Estimate(final String estimateId, final String client,
+                 final String project) {
+            this.id = estimateId;
+            this.clientName = client;
+            this.projectName = project;
+        }
+
+        /**
+         * Getter for estimate id.
+         * @return estimate id
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Getter for client name.
+         * @return client name
+         */
+        public String getClientName() {
+            return clientName;
+        }
+
+        /**
+         * Getter for project name.
+         * @return project name
+         */
+        public String getProjectName() {
+            return projectName;
+        }
+    }
+
+    /**
+     * Phase or task with its name.
+     */
+    public static final class Item {
+        /**
+         * Item id.
+         */
+        private final String id;
+
+        /**
+         * Item name.
+         */
+        private final String name;
+
+        /**
+         * Item constructor.
+         * @param itemId item id
+         * @param itemName item name
+         */
+        Item(final String itemId, final String itemName) {
+            this.id = itemId;
+            this.name = itemName;
+        }
+
+        /**
+         * Getter for item id.
+         * @return item id
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Getter for item name.
+         * @return item name
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * API base URL ending with slash.
+     */
+    private final String baseUrl;
+
+    /**
+     * Cookie header authenticating requests.
+     */
+    private final String cookieHeader;
+
+    /**
+     * Directory responses are saved to, null when they are not saved.
+     */
+    private final Path recordDir;
+
+    /**
+     * API client constructor.
+     * @param apiUrl API base URL
+     * @param cookies Cookie header authenticating requests, may be empty
+     */
+    public EstimateApi(final String apiUrl, final String cookies) {
+        this(apiUrl, cookies, "");
+    }
+
+    /**
+     * API client constructor saving responses.
+     * @param apiUrl API base URL
+     * @param cookies Cookie header authenticating requests, may be empty
+     * @param responsesDir directory to save responses to, empty when
+     *                     they are not saved
+     */
+    public EstimateApi(final String apiUrl, final String cookies,
+                       final String responsesDir) {
+        this.baseUrl = apiUrl.endsWith("/") ? apiUrl : apiUrl + "/";
+        this.cookieHeader = cookies;
+        this.recordDir = responsesDir.isEmpty() ? null
+                : Paths.get(responsesDir);
+    }
+
+    /**
+     * Makes file name of saved response, ids in path are replaced, so
+     * responses are replayed for any id.
+     * @param method HTTP method
+     * @param path resource path relative to API URL
+     * @return file name
+     */
+    static String recordName(final String method, final String path) {
+        StringBuilder name = new StringBuilder(method);
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                name.append('_').append(RESOURCES.contains(segment)
+                        ? segment : "id");
+            }
+        }
+        return name.append(".json").toString();
+    }
+
+    /**
+     * Checks API URL is configured by "apiUrl".
+     * @return is API seeding available
+     */
+    public static boolean isConfigured() {
+        return !ParametersProvider.getProperty("apiUrl").isEmpty();
+    }
+
+    /**
+     * Creates API client authenticated by cookies of logged in session.
+     * @param driver logged in browser driver
+     * @return API client
+     */
+    public static EstimateApi forSession(final WebDriver driver) {
+        StringBuilder cookies = new StringBuilder();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            if (cookies.length() > 0) {
+                cookies.append("; ");
+            }
+            cookies.append(cookie.getName()).append('=')
+                    .append(cookie.getValue());
+        }
+        return new EstimateApi(ParametersProvider.getProperty("apiUrl"),
+                cookies.toString(),
+                ParametersProvider.getProperty("apiRecordDir"));
+    }
+
+    /**
+     * Creates API client with its own login of the role. Logs in on
+     * separate browser session, which is returned as soon as its cookies
+     * are read, so the client does not depend on any test session.
+     * @param role user role
+     * @return API client
+     * @throws IOException when config file is not available
+     */
+    public static EstimateApi login(final AuthCache.Role role)
+            throws IOException {
+        WebDriver driver = DriverFactory.acquireDriver();
+        try {
+            driver.get(ParametersProvider.getProperty("webUrl"));
+            AuthCache.login(driver, role);
+            return forSession(driver);
+        } finally {
+            DriverFactory.releaseDriver(driver);
+        }
+    }
+
+    /**
+     * Creates russian language estimate.
+     * @param clientName client name
+     * @param projectName project name
+     * @param description project description
+     * @param expertName expert name
+     * @param crmLink link to CRM
+     * @return estimate id
+     */
+    public String createEstimate(final String clientName,
+                                 final String projectName,
+                                 final String description,
+                                 final String expertName,
+                                 final String crmLink) {
+        JsonObject estimate = new JsonObject();
+        estimate.addProperty("customer", clientName);
+        estimate.addProperty("name", projectName);
+        estimate.addProperty("description", description);
+        estimate.addProperty("linkToCRM", crmLink);
+        estimate.addProperty("lang", "ru");
+        JsonArray experts = new JsonArray();
+        experts.add(expertName);
+        estimate.add("experts", experts);
+        return getId(request("POST", "estimates", estimate));
+    }
+
+    /**
+     * Lists estimates.
+     * @return estimates
+     */
+    public List<Estimate> listEstimates() {
+        List<Estimate> estimates = new ArrayList<>();
+        for (JsonElement element
+                : request("GET", "estimates", null).getAsJsonArray()) {
+            JsonObject estimate = element.getAsJsonObject();
+            estimates.add(new Estimate(estimate.get("id").getAsString(),
+                    getString(estimate, "customer"),
+                    getString(estimate, "name")));
+        }
+        return estimates;
+    }
+
+    /**
+     * Deletes estimate with its phases and tasks.
+     * @param estimateId estimate id
+     */
+    public void deleteEstimate(final String estimateId) {
+        request("DELETE", "estimates/" + estimateId, null);
+    }
+
+    /**
+     * Adds phase to estimate.
+     * @param estimateId estimate id
+     * @param phaseName phase name
+     * @return phase id
+     */
+    public String addPhase(final String estimateId, final String phaseName) {
+        JsonObject phase = new JsonObject();
+        phase.addProperty("name", phaseName);
+        return getId(request("POST", "estimates/" + estimateId + "/phases",
+                phase));
+    }
+
+    /**
+     * Lists phases of estimate.
+     * @param estimateId estimate id
+     * @return phases
+     */
+    public List<Item> listPhases(final String estimateId) {
+        return listItems("estimates/" + estimateId + "/phases");
+    }
+
+    /**
+     * Deletes phase with its tasks.
+     * @param phaseId phase id
+     */
+    public void deletePhase(final String phaseId) {
+        request("DELETE", "phases/" + phaseId, null);
+    }
+
+    /**
+     * Adds task to phase.
+     * @param phaseId phase id
+     * @param taskName task name
+     * @param minHours hours in field From
+     * @param maxHours hours in field To
+     * @return task id
+     */
+    public String addTask(final String phaseId, final String taskName,
+                          final int minHours, final int maxHours) {
+        JsonObject task = new JsonObject();
+        task.addProperty("name", taskName);
+        task.addProperty("minHours", minHours);
+        task.addProperty("maxHours", maxHours);
+        return getId(request("POST", "phases/" + phaseId + "/tasks", task));
+    }
+
+    /**
+     * Lists tasks of phase.
+     * @param phaseId phase id
+     * @return tasks
+     */
+    public List<Item> listTasks(final String phaseId) {
+        return listItems("phases/" + phaseId + "/tasks");
+    }
+
+    /**
+     * Deletes task.
+     * @param taskId task id
+     */
+    public void deleteTask(final String taskId) {
+        request("DELETE", "tasks/" + taskId, null);
+    }
+
+    /**
+     * Lists phases or tasks.
+     * @param path list resource path relative to API URL
+     * @return items
+     */
+    private List<Item> listItems(final String path) {
+        List<Item> items = new ArrayList<>();
+        for (JsonElement element
+                : request("GET", path, null).getAsJsonArray()) {
+            JsonObject item = element.getAsJsonObject();
+            items.add(new Item(item.get("id").getAsString(),
+                    getString(item, "name")));
+        }
+        return items;
+    }
+
+    /**
+     * Sends API request.
+     * @param method HTTP method
+     * @param path resource path relative to API URL
+     * @param body JSON body or null
+     * @return JSON response, JsonNull when response is empty
+     * @throws ApiException when API responds with error
+     */
+    private JsonElement request(final String method, final String path,
+                                final JsonObject body)
+            throws ApiException {
+        try {
+            HttpURLConnection connection = (HttpURLConnection)
+                    new URL(baseUrl + path).openConnection();
+            try {
+                connection.setRequestMethod(method);
+                connection.setConnectTimeout(TIMEOUT);
+                connection.setReadTimeout(TIMEOUT);
+                connection.setRequestProperty("Accept", "application/json");
+                if (!cookieHeader.isEmpty()) {
+                    connection.setRequestProperty("Cookie", cookieHeader);
+                }
+                if (body != null) {
+                    connection.setDoOutput(true);
+                    connection.setRequestProperty("Content-Type",
+                            "application/json; charset=utf-8");
+                    try (OutputStream output = connection.getOutputStream()) {
+                        output.write(body.toString()
+                                .getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+                int status = connection.getResponseCode();
+                if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                    throw new ApiException(method + " " + path
+                            + " failed with status " + status, status);
+                }
+                JsonElement response = readJson(connection.getInputStream());
+                record(method, path, response);
+                return response;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + path + " failed",
+                    e);
+        }
+    }
+
+    /**
+     * Saves response when saving is enabled.
+     * @param method HTTP method
+     * @param path resource path relative to API URL
+     * @param response JSON response
+     * @throws IOException when response can not be saved
+     */
+    private void record(final String method, final String path,
+                        final JsonElement response) throws IOException {
+        if (recordDir == null || response.isJsonNull()) {
+            return;
+        }
+        Files.createDirectories(recordDir);
+        Files.write(recordDir.resolve(recordName(method, path)),
+                response.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads JSON response.
+     * @param input response stream
+     * @return JSON, JsonNull when response is empty
+     * @throws IOException when response is not readable
+     */
+    private static JsonElement readJson(final InputStream input)
+            throws IOException {
+        try (Reader reader = new InputStreamReader(input,
+                StandardCharsets.UTF_8)) {
+            return new JsonParser().parse(reader);
+        }
+    }
+
+    /**
+     * Gets id of created entity.
+     * @param response JSON response
+     * @return entity id
+     */
+    private static String getId(final JsonElement response) {
+        return response.getAsJsonObject().get("id").getAsString();
+    }
+
+    /**
+     * Gets string field of JSON object.
+     * @param object JSON object
+     * @param name field name
+     * @return field value or empty string
+     */
+    private static String getString(final JsonObject object,
+                                    final String name) {
+        JsonElement element = object.get(name);
+        if (element == null || element.isJsonNull()) {
+            return "";
+        }
+        return element.getAsString();
+    }
+}
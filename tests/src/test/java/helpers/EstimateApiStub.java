@@ -0,0 +1,278 @@
+package helpers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory EstimateMe API server for testing data seeding offline.
+ * Replays responses saved from real backend by {@link EstimateApi} when
+ * they are given.
+ */
+public final class EstimateApiStub {
+
+    /**
+     * HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Entity id sequence.
+     */
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Estimates by id.
+     */
+    private final Map<String, JsonObject> estimates = new LinkedHashMap<>();
+
+    /**
+     * Phases by id.
+     */
+    private final Map<String, JsonObject> phases = new LinkedHashMap<>();
+
+    /**
+     * Tasks by id.
+     */
+    private final Map<String, JsonObject> tasks = new LinkedHashMap<>();
+
+    /**
+     * Directory of saved responses, null when nothing is replayed.
+     */
+    private final Path recordings;
+
+    /**
+     * Starts stub server on free local port.
+     * @throws IOException when server can not be started
+     */
+    public EstimateApiStub() throws IOException {
+        this(null);
+    }
+
+    /**
+     * Starts stub server replaying saved responses, requests without
+     * saved response are served from memory.
+     * @param responsesDir directory of saved responses or null
+     * @throws IOException when server can not be started
+     */
+    public EstimateApiStub(final Path responsesDir) throws IOException {
+        recordings = responsesDir;
+        server = HttpServer.create(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Gets API base URL of the stub.
+     * @return API URL
+     */
+    public String getApiUrl() {
+        return "http://" + server.getAddress().getHostString() + ":"
+                + server.getAddress().getPort() + "/api/";
+    }
+
+    /**
+     * Stops stub server.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Handles API request.
+     * @param exchange HTTP exchange
+     * @throws IOException when response can not be sent
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        String relative = exchange.getRequestURI().getPath()
+                .substring("/api/".length());
+        String[] path = relative.split("/");
+        String method = exchange.getRequestMethod();
+        JsonElement response = replay(method, relative);
+        if (response == null) {
+            synchronized (this) {
+                response = route(method, path, exchange);
+            }
+        }
+        if (response == null) {
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_FOUND,
+                    -1);
+        } else {
+            byte[] body = response.toString()
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                    "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK,
+                    body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    /**
+     * Routes request to the resource.
+     * @param method HTTP method
+     * @param path path segments after API URL
+     * @param exchange HTTP exchange
+     * @return JSON response or null when resource is not found
+     * @throws IOException when request body is not readable
+     */
+    private JsonElement route(final String method, final String[] path,
+                              final HttpExchange exchange)
+            throws IOException {
+        String resource = path[0];
+        if ("estimates".equals(resource) && path.length == 1) {
+            if ("GET".equals(method)) {
+                JsonArray list = new JsonArray();
+                estimates.values().forEach(list::add);
+                return list;
+            }
+            return create(estimates, readBody(exchange), null, null);
+        }
+        if ("estimates".equals(resource) && path.length == 3
+                && estimates.containsKey(path[1])) {
+            if ("GET".equals(method)) {
+                return children(phases, "estimateId", path[1]);
+            }
+            return create(phases, readBody(exchange), "estimateId", path[1]);
+        }
+        if ("phases".equals(resource) && path.length == 3
+                && phases.containsKey(path[1])) {
+            if ("GET".equals(method)) {
+                return children(tasks, "phaseId", path[1]);
+            }
+            return create(tasks, readBody(exchange), "phaseId", path[1]);
+        }
+        if (path.length == 2 && "DELETE".equals(method)) {
+            return delete(resource, path[1]);
+        }
+        return null;
+    }
+
+    /**
+     * Stores new entity.
+     * @param store entity store
+     * @param entity entity JSON
+     * @param parentField parent id field name or null
+     * @param parentId parent id or null
+     * @return created entity
+     */
+    private JsonObject create(final Map<String, JsonObject> store,
+                              final JsonObject entity,
+                              final String parentField,
+                              final String parentId) {
+        String id = String.valueOf(sequence.incrementAndGet());
+        entity.addProperty("id", id);
+        if (parentField != null) {
+            entity.addProperty(parentField, parentId);
+        }
+        store.put(id, entity);
+        return entity;
+    }
+
+    /**
+     * Lists entities of the parent.
+     * @param store entity store
+     * @param parentField parent id field name
+     * @param parentId parent id
+     * @return entities
+     */
+    private static JsonArray children(final Map<String, JsonObject> store,
+                                      final String parentField,
+                                      final String parentId) {
+        JsonArray list = new JsonArray();
+        store.values().stream().filter(entity -> parentId.equals(
+                entity.get(parentField).getAsString())).forEach(list::add);
+        return list;
+    }
+
+    /**
+     * Deletes entity with its children.
+     * @param resource resource name
+     * @param id entity id
+     * @return deleted entity or null when it is not found
+     */
+    private JsonObject delete(final String resource, final String id) {
+        switch (resource) {
+            case "estimates":
+                phases.values().removeIf(phase -> id.equals(
+                        phase.get("estimateId").getAsString())
+                        && deleteTasks(phase.get("id").getAsString()));
+                return estimates.remove(id);
+            case "phases":
+                deleteTasks(id);
+                return phases.remove(id);
+            case "tasks":
+                return tasks.remove(id);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Deletes tasks of the phase.
+     * @param phaseId phase id
+     * @return always true
+     */
+    private boolean deleteTasks(final String phaseId) {
+        tasks.values().removeIf(task -> phaseId.equals(
+                task.get("phaseId").getAsString()));
+        return true;
+    }
+
+    /**
+     * Reads saved response of the request.
+     * @param method HTTP method
+     * @param path resource path relative to API URL
+     * @return saved response or null when there is none
+     * @throws IOException when saved response is not readable
+     */
+    private JsonElement replay(final String method, final String path)
+            throws IOException {
+        if (recordings == null) {
+            return null;
+        }
+        Path saved = recordings.resolve(EstimateApi.recordName(method, path));
+        if (!Files.isRegularFile(saved)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(saved,
+                StandardCharsets.UTF_8)) {
+            return new JsonParser().parse(reader);
+        }
+    }
+
+    /**
+     * Reads JSON request body.
+     * @param exchange HTTP exchange
+     * @return JSON object
+     * @throws IOException when body is not readable
+     */
+    private static JsonObject readBody(final HttpExchange exchange)
+            throws IOException {
+        try (Reader reader = new InputStreamReader(
+                exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            return new JsonParser().parse(reader).getAsJsonObject();
+        }
+    }
+}
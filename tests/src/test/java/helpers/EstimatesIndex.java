@@ -0,0 +1,213 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Index of estimates list rows by exact client name, read with single
+ * script call. Names are compared as strings, not put into locators.
+ * A MutationObserver on the list counts its changes, each lookup checks
+ * the counter and rows are read again only when the list changed.
+ */
+public final class EstimatesIndex {
+
+    /**
+     * Returns null when list version equals the argument and list element
+     * is still in the page, otherwise reads estimate rows with their
+     * names and delete buttons and watches their list for changes.
+     */
+    private static final String LOOKUP = PageSnapshot.ESTIMATE_ROWS
+            + " var known = arguments[0], watch = window.estimatesWatch;"
+            + " if (watch && known !== null && watch.version === known"
+            + " && document.contains(watch.target)) { return null; }"
+            + " var rows = estimateRows();"
+            + " var target = rows.length ? rows[0].row.parentElement"
+            + " : document.body;"
+            + " if (!watch || watch.target !== target) {"
+            + " if (watch) { watch.observer.disconnect(); }"
+            + " var next = {version: watch ? watch.version + 1 : 1,"
+            + " target: target};"
+            + " next.observer = new MutationObserver(function () {"
+            + " next.version++; });"
+            + " next.observer.observe(target, {childList: true,"
+            + " subtree: true, characterData: true});"
+            + " window.estimatesWatch = watch = next; }"
+            + " return {version: watch.version, rows: rows};";
+
+    /**
+     * Estimate row.
+     */
+    public static final class Row {
+        /**
+         * Row link.
+         */
+        private final WebElement element;
+
+        /**
+         * Delete estimate button, null when row has none.
+         */
+        private final WebElement deleteButton;
+
+        /**
+         * Project name.
+         */
+        private final String projectName;
+
+        /**
+         * Row constructor.
+         * @param rowElement row link
+         * @param rowDeleteButton delete estimate button
+         * @param rowProjectName project name
+         */
+        private Row(final WebElement rowElement,
+                    final WebElement rowDeleteButton,
+                    final String rowProjectName) {
+            this.element = rowElement;
+            this.deleteButton = rowDeleteButton;
+            this.projectName = rowProjectName;
+        }
+
+        /**
+         * Getter for row link.
+         * @return row link
+         */
+        public WebElement getElement() {
+            return element;
+        }
+
+        /**
+         * Getter for delete estimate button.
+         * @return delete button
+         * @throws NoSuchElementException when row has no delete button
+         */
+        public WebElement getDeleteButton() throws NoSuchElementException {
+            if (deleteButton == null) {
+                throw new NoSuchElementException(
+                        "У оценки нет кнопки удаления");
+            }
+            return deleteButton;
+        }
+
+        /**
+         * Getter for project name.
+         * @return project name, empty when not shown
+         */
+        public String getProjectName() {
+            return projectName;
+        }
+    }
+
+    /**
+     * Browser driver.
+     */
+    private final WebDriver driver;
+
+    /**
+     * Rows by client name, null until read.
+     */
+    private Map<String, Row> rows;
+
+    /**
+     * List version rows were read at, null until read.
+     */
+    private Long version;
+
+    /**
+     * Index constructor. Rows are read on first lookup.
+     * @param webDriver browser driver
+     */
+    public EstimatesIndex(final WebDriver webDriver) {
+        this.driver = webDriver;
+    }
+
+    /**
+     * Drops read rows, so they are read on next lookup whether list
+     * changed or not.
+     */
+    public void invalidate() {
+        rows = null;
+        version = null;
+    }
+
+    /**
+     * Checks estimates list shows client with exactly this name.
+     * @param clientName client name
+     * @return is client shown
+     */
+    public boolean contains(final String clientName) {
+        return lookup(clientName) != null;
+    }
+
+    /**
+     * Finds row of client with exactly this name.
+     * @param clientName client name
+     * @return estimate row
+     * @throws NoSuchElementException when client is not shown
+     */
+    public Row find(final String clientName) throws NoSuchElementException {
+        Row row = lookup(clientName);
+        if (row == null) {
+            throw new NoSuchElementException("Не найдена оценка клиента "
+                    + clientName);
+        }
+        return row;
+    }
+
+    /**
+     * Calls action with client row, once more with row read again when
+     * it became stale.
+     * @param clientName client name
+     * @param action action with the row
+     * @throws NoSuchElementException when client is not shown
+     */
+    public void onRow(final String clientName, final Consumer<Row> action)
+            throws NoSuchElementException {
+        try {
+            action.accept(find(clientName));
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            action.accept(find(clientName));
+        }
+    }
+
+    /**
+     * Looks client up in rows read again when list changed.
+     * @param clientName client name
+     * @return estimate row or null when client is not shown
+     */
+    private Row lookup(final String clientName) {
+        refresh();
+        return rows.get(clientName);
+    }
+
+    /**
+     * Reads rows of the estimates list when it changed since last read.
+     */
+    @SuppressWarnings("unchecked")
+    private void refresh() {
+        Map<String, Object> changed = (Map<String, Object>)
+                ((JavascriptExecutor) driver).executeScript(LOOKUP,
+                        rows == null ? null : version);
+        if (changed == null) {
+            return;
+        }
+        Map<String, Row> index = new HashMap<>();
+        for (Map<String, Object> row
+                : (List<Map<String, Object>>) changed.get("rows")) {
+            index.putIfAbsent((String) row.get("clientName"),
+                    new Row((WebElement) row.get("row"),
+                            (WebElement) row.get("deleteButton"),
+                            (String) row.get("projectName")));
+        }
+        rows = index;
+        version = (Long) changed.get("version");
+    }
+}
@@ -0,0 +1,232 @@
+package helpers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps "fixturePoolSize" estimates with phase from directory built in
+ * background through API, so tests start on a ready estimate. Producer
+ * uses its own administrator login, refreshed when API rejects it. Used
+ * estimates are deleted at suite end by {@link CleanupRegistry}.
+ */
+public final class FixturePool {
+
+    /**
+     * Delay before next attempt after failed build in milliseconds.
+     */
+    private static final long RETRY_DELAY = 5000;
+
+    /**
+     * Estimate ready for test.
+     */
+    public static final class Fixture {
+        /**
+         * API client authenticated as estimate owner.
+         */
+        private final EstimateApi api;
+
+        /**
+         * Estimate id.
+         */
+        private final String estimateId;
+
+        /**
+         * Unique client name.
+         */
+        private final String clientName;
+
+        /**
+         * Fixture constructor.
+         * @param client API client
+         * @param id estimate id
+         * @param name client name
+         */
+        private Fixture(final EstimateApi client, final String id,
+                        final String name) {
+            this.api = client;
+            this.estimateId = id;
+            this.clientName = name;
+        }
+
+        /**
+         * Getter for estimate id.
+         * @return estimate id
+         */
+        public String getEstimateId() {
+            return estimateId;
+        }
+
+        /**
+         * Getter for client name.
+         * @return client name
+         */
+        public String getClientName() {
+            return clientName;
+        }
+
+        /**
+         * Registers estimate for deletion at suite end.
+         */
+        public void retire() {
+            CleanupRegistry.register(api, estimateId);
+        }
+    }
+
+    /**
+     * Ready fixtures.
+     */
+    private static BlockingQueue<Fixture> ready;
+
+    /**
+     * Background producer.
+     */
+    private static Thread producer;
+
+    /**
+     * Last failure of the producer, null after successful build.
+     */
+    private static volatile Exception failure;
+
+    /**
+     * Not called.
+     */
+    private FixturePool() {
+    }
+
+    /**
+     * Takes ready fixture exclusively, builds one when pool is empty.
+     * Starts background producer on first call. Failure of the producer
+     * is reported and attached to failure of the build.
+     * @param api API client authenticated as administrator
+     * @return fixture
+     */
+    public static Fixture checkout(final EstimateApi api) {
+        BlockingQueue<Fixture> queue = start();
+        Fixture fixture = queue == null ? null : queue.poll();
+        if (fixture != null) {
+            return fixture;
+        }
+        Exception produceFailure = failure;
+        if (produceFailure != null) {
+            System.out.println("Фоновая подготовка тестовых оценок"
+                    + " не работает: " + produceFailure.getMessage());
+        }
+        try {
+            return build(api);
+        } catch (RuntimeException e) {
+            if (produceFailure != null) {
+                e.addSuppressed(produceFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stops producer and retires fixtures not taken by tests.
+     */
+    public static void shutdown() {
+        List<Fixture> unused = new ArrayList<>();
+        synchronized (FixturePool.class) {
+            if (producer == null) {
+                return;
+            }
+            producer.interrupt();
+            try {
+                producer.join(TimeUnit.SECONDS.toMillis(
+                        ParametersProvider.getIntProperty(
+                                "explicitTimeout", 10)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            producer = null;
+            ready.drainTo(unused);
+        }
+        unused.forEach(Fixture::retire);
+    }
+
+    /**
+     * Starts producer when pool is enabled and not started yet.
+     * @return ready fixtures or null when pool is disabled
+     */
+    private static synchronized BlockingQueue<Fixture> start() {
+        int size = ParametersProvider.getIntProperty("fixturePoolSize", 0);
+        if (size < 1) {
+            return null;
+        }
+        if (producer == null) {
+            ready = new LinkedBlockingQueue<>(size);
+            BlockingQueue<Fixture> queue = ready;
+            failure = null;
+            producer = new Thread(() -> produce(queue),
+                    "fixture-producer");
+            producer.setDaemon(true);
+            producer.start();
+        }
+        return ready;
+    }
+
+    /**
+     * Keeps queue full until interrupted. Logs in again when API rejects
+     * the login.
+     * @param queue ready fixtures
+     */
+    private static void produce(final BlockingQueue<Fixture> queue) {
+        EstimateApi api = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            Fixture fixture;
+            try {
+                if (api == null) {
+                    api = EstimateApi.login(AuthCache.Role.ADMIN);
+                }
+                fixture = build(api);
+                failure = null;
+            } catch (IOException | RuntimeException e) {
+                if (e instanceof EstimateApi.ApiException
+                        && ((EstimateApi.ApiException) e).isUnauthorized()) {
+                    api = null;
+                }
+                failure = e;
+                System.out.println("Тестовая оценка не создана: "
+                        + e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                queue.put(fixture);
+            } catch (InterruptedException e) {
+                fixture.retire();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates estimate with phase from directory.
+     * @param api API client authenticated as administrator
+     * @return fixture
+     */
+    private static Fixture build(final EstimateApi api) {
+        String clientName = TestData.unique("clientName");
+        String id = api.createEstimate(clientName,
+                ParametersProvider.getProperty("projectName"),
+                ParametersProvider.getProperty("description"),
+                ParametersProvider.getProperty("expert"),
+                ParametersProvider.getProperty("crmLink"));
+        Fixture fixture = new Fixture(api, id, clientName);
+        try {
+            api.addPhase(id, ParametersProvider.getProperty("directoryPhase"));
+        } catch (RuntimeException e) {
+            fixture.retire();
+            throw e;
+        }
+        return fixture;
+    }
+}
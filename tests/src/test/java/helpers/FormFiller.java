@@ -0,0 +1,117 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills form fields by typing or, when "fastFormFill" is enabled, by
+ * setting all values with single script call. Fast mode fires events
+ * ng-model listens to and checks model got the values.
+ */
+public final class FormFiller {
+
+    /**
+     * Sets values of fields and returns indexes of fields whose ng-model
+     * or value differs from expected. Arguments are fields and values.
+     */
+    private static final String FILL =
+            "var fields = arguments[0], values = arguments[1], failed = [];"
+                    + " var fire = function (el, type) {"
+                    + " var event = document.createEvent('HTMLEvents');"
+                    + " event.initEvent(type, true, false);"
+                    + " el.dispatchEvent(event); };"
+                    + " for (var i = 0; i < fields.length; i++) {"
+                    + " var el = fields[i];"
+                    + " var setter = Object.getOwnPropertyDescriptor("
+                    + "Object.getPrototypeOf(el), 'value');"
+                    + " el.focus();"
+                    + " if (setter && setter.set) {"
+                    + " setter.set.call(el, values[i]); }"
+                    + " else { el.value = values[i]; }"
+                    + " fire(el, 'input'); fire(el, 'change'); el.blur(); }"
+                    + " for (var j = 0; j < fields.length; j++) {"
+                    + " var actual = fields[j].value;"
+                    + " try { var model = angular.element(fields[j])"
+                    + ".controller('ngModel');"
+                    + " if (model) { actual = model.$viewValue; }"
+                    + " } catch (e) {}"
+                    + " if (String(actual) !== String(values[j])) {"
+                    + " failed.push(j); } }"
+                    + " return failed;";
+
+    /**
+     * Not called.
+     */
+    private FormFiller() {
+    }
+
+    /**
+     * Checks fast form fill is enabled.
+     * @return is "fastFormFill" enabled
+     */
+    public static boolean isFast() {
+        return Boolean.parseBoolean(ParametersProvider
+                .getProperty("fastFormFill"));
+    }
+
+    /**
+     * Fills single field.
+     * @param driver browser driver
+     * @param field field to fill
+     * @param value field value
+     */
+    public static void fill(final WebDriver driver, final WebElement field,
+                            final String value) {
+        fill(driver, Collections.singletonMap(field, value));
+    }
+
+    /**
+     * Fills fields in order. Typing appends to the field, fast mode
+     * replaces its value.
+     * @param driver browser driver
+     * @param values values by field
+     * @throws IllegalStateException when model did not get value
+     */
+    public static void fill(final WebDriver driver,
+                            final Map<WebElement, String> values)
+            throws IllegalStateException {
+        if (!isFast()) {
+            for (Map.Entry<WebElement, String> value : values.entrySet()) {
+                value.getKey().sendKeys(value.getValue());
+            }
+            return;
+        }
+        List<WebElement> fields = new ArrayList<>(values.keySet());
+        List<String> texts = new ArrayList<>(values.values());
+        List<?> failed = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(FILL, fields, texts);
+        if (!failed.isEmpty()) {
+            List<WebElement> notFilled = new ArrayList<>();
+            for (Object index : failed) {
+                notFilled.add(fields.get(((Number) index).intValue()));
+            }
+            throw new IllegalStateException("Поля не заполнены: "
+                    + notFilled);
+        }
+    }
+
+    /**
+     * Starts ordered values map.
+     * @param field first field
+     * @param value first field value
+     * @return values by field
+     */
+    public static Map<WebElement, String> values(final WebElement field,
+                                                 final String value) {
+        Map<WebElement, String> values = new LinkedHashMap<>();
+        values.put(field, value);
+        return values;
+    }
+}
@@ -0,0 +1,315 @@
+package helpers;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes remote sessions to the least loaded of several Selenoid hubs.
+ */
+final class GridRouter {
+
+    /**
+     * Hub status request timeout in milliseconds.
+     */
+    private static final int STATUS_TIMEOUT = 3000;
+
+    /**
+     * Selenium hub endpoint.
+     */
+    private static final class Endpoint {
+        /**
+         * Hub URL.
+         */
+        private final URL hubUrl;
+
+        /**
+         * Hub status URL.
+         */
+        private final URL statusUrl;
+
+        /**
+         * Total slots reported by the hub.
+         */
+        private int total;
+
+        /**
+         * Used slots reported by the hub.
+         */
+        private int used;
+
+        /**
+         * Sessions leased by this router.
+         */
+        private int leases;
+
+        /**
+         * Time of the last status poll.
+         */
+        private long polledAt;
+
+        /**
+         * Endpoint constructor.
+         * @param url hub URL
+         * @param capacity slots assumed until hub status is known
+         * @throws IOException when URL is malformed
+         */
+        private Endpoint(final String url, final int capacity)
+                throws IOException {
+            this.hubUrl = new URL(url);
+            this.statusUrl = new URL(hubUrl, "/status");
+            this.total = capacity;
+        }
+
+        /**
+         * Counts free slots by hub status and own lease accounting.
+         * @return number of free slots
+         */
+        private int freeSlots() {
+            return total - Math.max(used, leases);
+        }
+    }
+
+    /**
+     * Hub endpoints in configuration order.
+     */
+    private final List<Endpoint> endpoints = new ArrayList<>();
+
+    /**
+     * Endpoints of sessions created by this router.
+     */
+    private final Map<WebDriver, Endpoint> sessions =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Hub status poll interval in milliseconds.
+     */
+    private final long pollInterval;
+
+    /**
+     * Router constructor.
+     * @param hubUrls comma separated hub URLs
+     * @param capacity slots per hub assumed until hub status is known
+     * @param pollIntervalSeconds hub status poll interval
+     * @throws IOException when hub URL is malformed
+     */
+    GridRouter(final String hubUrls, final int capacity,
+               final int pollIntervalSeconds) throws IOException {
+        for (String hubUrl : hubUrls.split(",")) {
+            if (!hubUrl.trim().isEmpty()) {
+                endpoints.add(new Endpoint(hubUrl.trim(), capacity));
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("Selenium hub URL is not set");
+        }
+        this.pollInterval = TimeUnit.SECONDS.toMillis(pollIntervalSeconds);
+    }
+
+    /**
+     * Creates remote session on the hub with most free slots, falls back
+     * to the next hub when session creation fails.
+     * @param capabilities session capabilities
+     * @return remote browser driver
+     * @throws WebDriverException when no hub created the session
+     */
+    WebDriver createDriver(final Capabilities capabilities)
+            throws WebDriverException {
+        WebDriverException lastError = null;
+        for (Endpoint endpoint : rankEndpoints()) {
+            lease(endpoint);
+            try {
+                WebDriver driver = new RemoteWebDriver(endpoint.hubUrl,
+                        capabilities);
+                sessions.put(driver, endpoint);
+                return driver;
+            } catch (WebDriverException e) {
+                release(endpoint);
+                System.out.println("Хаб " + endpoint.hubUrl
+                        + " не создал сессию: " + e.getMessage());
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Counts slots of all hubs.
+     * @return total number of slots
+     */
+    int totalSlots() {
+        List<Endpoint> ranked = rankEndpoints();
+        synchronized (this) {
+            int total = 0;
+            for (Endpoint endpoint : ranked) {
+                total += endpoint.total;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Frees slot of the session before it is quit.
+     * @param driver browser driver
+     */
+    void onQuit(final WebDriver driver) {
+        Endpoint endpoint = sessions.remove(driver);
+        if (endpoint != null) {
+            release(endpoint);
+        }
+    }
+
+    /**
+     * Orders endpoints by free slots, polls stale hub statuses. Hubs are
+     * polled without holding the lock, so slow hub delays only the thread
+     * polling it, other threads rank by previous status.
+     * @return endpoints to try, most free first
+     */
+    private List<Endpoint> rankEndpoints() {
+        for (Endpoint endpoint : claimPolls()) {
+            int[] status = poll(endpoint);
+            if (status != null) {
+                update(endpoint, status[0], status[1]);
+            }
+        }
+        synchronized (this) {
+            List<Endpoint> ranked = new ArrayList<>(endpoints);
+            ranked.sort(Comparator.comparingInt(Endpoint::freeSlots)
+                    .reversed());
+            return ranked;
+        }
+    }
+
+    /**
+     * Takes endpoints whose status is stale for polling by current thread.
+     * @return endpoints to poll
+     */
+    private synchronized List<Endpoint> claimPolls() {
+        long now = System.currentTimeMillis();
+        List<Endpoint> claimed = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (now - endpoint.polledAt >= pollInterval) {
+                endpoint.polledAt = now;
+                claimed.add(endpoint);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Stores hub status of the endpoint.
+     * @param endpoint hub endpoint
+     * @param total total slots
+     * @param used used slots
+     */
+    private synchronized void update(final Endpoint endpoint,
+                                     final int total, final int used) {
+        endpoint.total = total;
+        endpoint.used = used;
+    }
+
+    /**
+     * Leases slot on the endpoint.
+     * @param endpoint hub endpoint
+     */
+    private synchronized void lease(final Endpoint endpoint) {
+        endpoint.leases++;
+    }
+
+    /**
+     * Frees slot leased on the endpoint.
+     * @param endpoint hub endpoint
+     */
+    private synchronized void release(final Endpoint endpoint) {
+        if (endpoint.leases > 0) {
+            endpoint.leases--;
+        }
+    }
+
+    /**
+     * Reads Selenoid or Selenium Grid status of the endpoint.
+     * @param endpoint hub endpoint
+     * @return total and used slots or null when hub is not available
+     */
+    private static int[] poll(final Endpoint endpoint) {
+        try {
+            HttpURLConnection connection =
+                    (HttpURLConnection) endpoint.statusUrl.openConnection();
+            connection.setConnectTimeout(STATUS_TIMEOUT);
+            connection.setReadTimeout(STATUS_TIMEOUT);
+            try (Reader reader = new InputStreamReader(
+                    connection.getInputStream(), StandardCharsets.UTF_8)) {
+                JsonObject status = new JsonParser().parse(reader)
+                        .getAsJsonObject();
+                if (status.has("total")) {
+                    return new int[] {status.get("total").getAsInt(),
+                            getInt(status, "used")
+                                    + getInt(status, "pending")};
+                } else if (status.has("value")) {
+                    return readGridStatus(status.getAsJsonObject("value"));
+                }
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Статус хаба " + endpoint.statusUrl
+                    + " недоступен: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Gets integer field of JSON object.
+     * @param object JSON object
+     * @param name field name
+     * @return field value or 0 when it is absent
+     */
+    private static int getInt(final JsonObject object, final String name) {
+        JsonElement element = object.get(name);
+        if (element == null || element.isJsonNull()) {
+            return 0;
+        }
+        return element.getAsInt();
+    }
+
+    /**
+     * Counts slots of Selenium Grid nodes.
+     * @param value status value
+     * @return total and used slots or null when nodes are not reported
+     */
+    private static int[] readGridStatus(final JsonObject value) {
+        if (!value.has("nodes")) {
+            return null;
+        }
+        int total = 0;
+        int used = 0;
+        for (JsonElement node : value.getAsJsonArray("nodes")) {
+            for (JsonElement slot : node.getAsJsonObject()
+                    .getAsJsonArray("slots")) {
+                total++;
+                JsonElement session = slot.getAsJsonObject().get("session");
+                if (session != null && !session.isJsonNull()) {
+                    used++;
+                }
+            }
+        }
+        return new int[] {total, used};
+    }
+}
@@ -0,0 +1,183 @@
+package helpers;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.opera.OperaOptions;
+
+import java.util.Collections;
+
+/**
+ * Browser launch profile selected by "launchProfile" configuration key.
+ */
+public enum LaunchProfile {
+    /**
+     * Browser defaults, VNC is enabled for remote sessions.
+     */
+    DEFAULT(false),
+
+    /**
+     * Headless browser without images, extensions and GPU compositing,
+     * with fixed small viewport. VNC is enabled only in debug mode.
+     */
+    FAST(true);
+
+    /**
+     * Default viewport of lean profile.
+     */
+    private static final String DEFAULT_WINDOW_SIZE = "1280,800";
+
+    /**
+     * Is browser launched with lean options.
+     */
+    private final boolean lean;
+
+    /**
+     * Profile constructor.
+     * @param leanOptions is browser launched with lean options
+     */
+    LaunchProfile(final boolean leanOptions) {
+        this.lean = leanOptions;
+    }
+
+    /**
+     * Gets launch profile from configuration.
+     * @return launch profile, DEFAULT if it is not set
+     */
+    public static LaunchProfile fromConfig() {
+        String profileName = ParametersProvider.getProperty("launchProfile");
+        if (profileName.isEmpty()) {
+            return DEFAULT;
+        }
+        return valueOf(profileName.trim().toUpperCase());
+    }
+
+    /**
+     * Checks debug mode is on.
+     * @return is debug mode on
+     */
+    private static boolean isDebug() {
+        return Boolean.parseBoolean(ParametersProvider.getProperty("debug"));
+    }
+
+    /**
+     * Gets fixed viewport size.
+     * @return viewport size as "width,height"
+     */
+    private static String getWindowSize() {
+        String windowSize = ParametersProvider.getProperty("windowSize");
+        if (windowSize.isEmpty()) {
+            return DEFAULT_WINDOW_SIZE;
+        }
+        return windowSize.trim();
+    }
+
+    /**
+     * Checks browser should be started without window.
+     * @return is browser headless
+     */
+    private boolean isHeadless() {
+        return lean && !isDebug();
+    }
+
+    /**
+     * Checks remote session should be started with VNC.
+     * @return is VNC enabled
+     */
+    public boolean isVncEnabled() {
+        return !lean || isDebug();
+    }
+
+    /**
+     * Builds Chrome options.
+     * @return Chrome options
+     */
+    public ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (lean) {
+            options.setHeadless(isHeadless());
+            options.addArguments(
+                    "--window-size=" + getWindowSize(),
+                    "--disable-gpu",
+                    "--disable-extensions",
+                    "--blink-settings=imagesEnabled=false");
+            options.setExperimentalOption("prefs", Collections.singletonMap(
+                    "profile.managed_default_content_settings.images", 2));
+        }
+        return options;
+    }
+
+    /**
+     * Builds Opera options.
+     * @return Opera options
+     */
+    public OperaOptions operaOptions() {
+        OperaOptions options = new OperaOptions();
+        if (lean) {
+            if (isHeadless()) {
+                options.addArguments("--headless");
+            }
+            options.addArguments(
+                    "--window-size=" + getWindowSize(),
+                    "--disable-gpu",
+                    "--disable-extensions",
+                    "--blink-settings=imagesEnabled=false");
+        }
+        return options;
+    }
+
+    /**
+     * Builds Firefox options.
+     * @return Firefox options
+     */
+    public FirefoxOptions firefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        if (lean) {
+            String[] windowSize = getWindowSize().split(",");
+            options.setHeadless(isHeadless());
+            options.addArguments("-width", windowSize[0].trim(),
+                    "-height", windowSize[1].trim());
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("extensions.enabledScopes", 0);
+            options.addPreference("layers.acceleration.disabled", true);
+        }
+        return options;
+    }
+
+    /**
+     * Builds Edge options.
+     * EdgeDriver supports neither headless mode nor browser arguments,
+     * so lean profile only skips waiting for subresources.
+     * @return Edge options
+     */
+    public EdgeOptions edgeOptions() {
+        EdgeOptions options = new EdgeOptions();
+        if (lean) {
+            options.setPageLoadStrategy("eager");
+        }
+        return options;
+    }
+
+    /**
+     * Builds options for remote session.
+     * @param browserName browser name
+     * @return browser options
+     * @throws IllegalStateException when unsupported browser chosen
+     */
+    public MutableCapabilities remoteOptions(final String browserName)
+            throws IllegalStateException {
+        switch (browserName) {
+            case "chrome":
+                return chromeOptions();
+            case "opera":
+                return operaOptions();
+            case "firefox":
+                return firefoxOptions();
+            case "edge":
+                return edgeOptions();
+            default:
+                throw new IllegalStateException("Chosen browser not supported");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.internal.Coordinates;
+import org.openqa.selenium.interactions.internal.Locatable;
+import org.openqa.selenium.internal.WrapsElement;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Page object element located on first use. Found element is reused
+ * unless caching is disabled and is located again when it became stale.
+ * Created by generated "PageNameElements" classes. Context is taken from
+ * page object on first use, so elements can initialize page object fields
+ * before page object has its driver.
+ */
+public final class LazyElement implements WebElement, WrapsElement,
+        Locatable {
+
+    /**
+     * Context to locate element in.
+     */
+    private final Supplier<SearchContext> context;
+
+    /**
+     * Element locator.
+     */
+    private final By by;
+
+    /**
+     * Is found element reused.
+     */
+    private final boolean cached;
+
+    /**
+     * Found element.
+     */
+    private volatile WebElement element;
+
+    /**
+     * Element constructor.
+     * @param searchContext context to locate element in
+     * @param locator element locator
+     * @param cache is found element reused
+     */
+    public LazyElement(final Supplier<SearchContext> searchContext,
+                       final By locator, final boolean cache) {
+        this.context = searchContext;
+        this.by = locator;
+        this.cached = cache;
+    }
+
+    /**
+     * Drops found element, so it is located again on next use.
+     * @param webElement page object element
+     * @return is element located again, false when it is not lazy
+     */
+    public static boolean invalidate(final WebElement webElement) {
+        if (webElement instanceof LazyElement) {
+            ((LazyElement) webElement).element = null;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public WebElement getWrappedElement() {
+        WebElement found = element;
+        if (found == null) {
+            found = context.get().findElement(by);
+            if (cached) {
+                element = found;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Calls found element, once more on element located again when found
+     * element is stale.
+     * @param action call of the element
+     * @param <T> call result type
+     * @return call result
+     */
+    private <T> T call(final Function<WebElement, T> action) {
+        WebElement found = getWrappedElement();
+        try {
+            return action.apply(found);
+        } catch (StaleElementReferenceException e) {
+            if (!cached) {
+                throw e;
+            }
+            element = null;
+            return action.apply(getWrappedElement());
+        }
+    }
+
+    @Override
+    public void click() {
+        call(found -> {
+            found.click();
+            return null;
+        });
+    }
+
+    @Override
+    public void submit() {
+        call(found -> {
+            found.submit();
+            return null;
+        });
+    }
+
+    @Override
+    public void sendKeys(final CharSequence... keysToSend) {
+        call(found -> {
+            found.sendKeys(keysToSend);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        call(found -> {
+            found.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+
+    @Override
+    public String getAttribute(final String name) {
+        return call(found -> found.getAttribute(name));
+    }
+
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+
+    @Override
+    public List<WebElement> findElements(final By locator) {
+        return call(found -> found.findElements(locator));
+    }
+
+    @Override
+    public WebElement findElement(final By locator) {
+        return call(found -> found.findElement(locator));
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+
+    @Override
+    public String getCssValue(final String propertyName) {
+        return call(found -> found.getCssValue(propertyName));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(final OutputType<X> target)
+            throws WebDriverException {
+        return call(found -> found.getScreenshotAs(target));
+    }
+
+    @Override
+    public Coordinates getCoordinates() {
+        return call(found -> ((Locatable) found).getCoordinates());
+    }
+
+    @Override
+    public String toString() {
+        return "Элемент " + by;
+    }
+}
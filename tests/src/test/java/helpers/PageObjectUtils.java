@@ -1,6 +1,5 @@
 package helpers;
 
-import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
@@ -8,6 +7,8 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Helper class for page objects.
  */
@@ -19,18 +20,43 @@ public final class PageObjectUtils {
     }
 
     /**
-     * Wait page is open by its Url.
+     * Wait page is open by its Url. DOM stability is not awaited for
+     * driver synchronized with Angular. Page verified earlier is not
+     * awaited again until driver clicks, types or navigates.
      *
      * @param driver  browser driver
      * @param pageUrl page URL
      */
     public static void waitPageLoad(final WebDriver driver,
                                     final String pageUrl) {
+        if (PageState.isVerified(driver, pageUrl)) {
+            return;
+        }
         int timeout = Integer.parseInt(ParametersProvider
                 .getProperty("explicitTimeout"));
-        Waiters.waitUntilAngularReady(driver, timeout);
-        new WebDriverWait(driver, timeout)
-                .until(ExpectedConditions.urlContains(pageUrl));
+        WaitMetrics.measure("pageLoad " + pageUrl,
+                TimeUnit.SECONDS.toMillis(timeout), () -> {
+                    if (!AngularSync.isSynchronized(driver)) {
+                        Waiters.waitUntilDomStable(driver);
+                    }
+                    new WebDriverWait(driver, timeout)
+                            .until(ExpectedConditions.urlContains(pageUrl));
+                });
+        PageState.onVerified(driver, pageUrl);
+    }
+
+    /**
+     * Wait page is open by its Url before first interaction of the driver
+     * tracked by {@link PageState}, other drivers wait now.
+     *
+     * @param driver  browser driver
+     * @param pageUrl page URL
+     */
+    public static void expectPage(final WebDriver driver,
+                                  final String pageUrl) {
+        if (!PageState.expect(driver, pageUrl)) {
+            waitPageLoad(driver, pageUrl);
+        }
     }
 
     /**
@@ -71,21 +97,21 @@ public final class PageObjectUtils {
     }
 
     /**
-     * Checks that element contains text.
+     * Checks that rendered page text contains all texts, reading the page
+     * once. Values of fields are not checked.
      *
      * @param driver WebDriver
-     * @param text   The text we are looking for
-     * @return is page contains text
+     * @param texts  The texts we are looking for
+     * @return is page contains every text
      */
     public static boolean checkPageContainText(final WebDriver driver,
-                                               final String text) {
-        try {
-            driver.findElement(By.xpath("//*[contains(text(), '"
-                    + text + "')]"));
-        } catch (NoSuchElementException e) {
-            System.out.println("На странице нету текста: " + text);
-            e.printStackTrace();
-            return false;
+                                               final String... texts) {
+        PageSnapshot snapshot = PageSnapshot.take(driver);
+        for (String text : texts) {
+            if (!snapshot.containsText(text)) {
+                System.out.println("На странице нету текста: " + text);
+                return false;
+            }
         }
         return true;
     }
@@ -0,0 +1,224 @@
+package helpers;
+
+import com.google.gson.Gson;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * View of the current page read with single script call: estimate rows,
+ * phase tabs, task rows and rendered page text. Checks run on the view
+ * without more remote calls.
+ */
+public final class PageSnapshot {
+
+    /**
+     * Declares "text" of element and "estimateRows" of estimates list
+     * with row link, client name, project name and delete button. Shared
+     * by page view and {@link EstimatesIndex}.
+     */
+    static final String ESTIMATE_ROWS =
+            "var each = function (selector, root, action) {"
+                    + " Array.prototype.forEach.call((root || document)"
+                    + ".querySelectorAll(selector), action); };"
+                    + " var text = function (el) { return el ? (el.innerText"
+                    + " || el.textContent || '').trim() : ''; };"
+                    + " var estimateRows = function () { var rows = [];"
+                    + " each('a', null, function (row) {"
+                    + " var names = row.querySelectorAll('div strong');"
+                    + " if (names.length) { rows.push({row: row,"
+                    + " clientName: text(names[0]), projectName:"
+                    + " names.length > 1 ? text(names[1]) : '',"
+                    + " deleteButton: row.querySelector("
+                    + "\"button[aria-label='Удалить оценку']\")}); } });"
+                    + " return rows; };";
+
+    /**
+     * Reads the page view as JSON.
+     */
+    private static final String READ_PAGE =
+            ESTIMATE_ROWS
+                    + " var value = function (el) {"
+                    + " return el ? String(el.value || '').trim() : ''; };"
+                    + " var page = {estimates: [], phases: [], tasks: [],"
+                    + " text: text(document.body)};"
+                    + " estimateRows().forEach(function (row) {"
+                    + " page.estimates.push({clientName: row.clientName,"
+                    + " projectName: row.projectName}); });"
+                    + " each('md-tab-item label', null, function (tab) {"
+                    + " page.phases.push(text(tab)); });"
+                    + " each(\"textarea[item-name='vm.item.name']\", null,"
+                    + " function (name) { var row = name.parentElement;"
+                    + " while (row && !row.querySelector("
+                    + "\"input[wh-value='vm.item.minHours']\")) {"
+                    + " row = row.parentElement; }"
+                    + " page.tasks.push({name: value(name),"
+                    + " minHours: value(row && row.querySelector("
+                    + "\"input[wh-value='vm.item.minHours']\")),"
+                    + " maxHours: value(row && row.querySelector("
+                    + "\"input[wh-value='vm.item.maxHours']\"))}); });"
+                    + " return JSON.stringify(page);";
+
+    /**
+     * Estimate row of estimates list.
+     */
+    public static final class Estimate {
+        /**
+         * Client name.
+         */
+        private String clientName;
+
+        /**
+         * Project name.
+         */
+        private String projectName;
+
+        /**
+         * Getter for client name.
+         * @return client name
+         */
+        public String getClientName() {
+            return clientName;
+        }
+
+        /**
+         * Getter for project name.
+         * @return project name, empty when not shown
+         */
+        public String getProjectName() {
+            return projectName;
+        }
+    }
+
+    /**
+     * Task row of estimate phase.
+     */
+    public static final class Task {
+        /**
+         * Task name.
+         */
+        private String name;
+
+        /**
+         * Hours in field From.
+         */
+        private String minHours;
+
+        /**
+         * Hours in field To.
+         */
+        private String maxHours;
+
+        /**
+         * Getter for task name.
+         * @return task name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter for hours in field From.
+         * @return hours, empty when not filled
+         */
+        public String getMinHours() {
+            return minHours;
+        }
+
+        /**
+         * Getter for hours in field To.
+         * @return hours, empty when not filled
+         */
+        public String getMaxHours() {
+            return maxHours;
+        }
+    }
+
+    /**
+     * Estimate rows.
+     */
+    private List<Estimate> estimates = new ArrayList<>();
+
+    /**
+     * Phase tab names.
+     */
+    private List<String> phases = new ArrayList<>();
+
+    /**
+     * Task rows.
+     */
+    private List<Task> tasks = new ArrayList<>();
+
+    /**
+     * Rendered page text.
+     */
+    private String text = "";
+
+    /**
+     * Created from JSON only.
+     */
+    private PageSnapshot() {
+    }
+
+    /**
+     * Reads view of the current page.
+     * @param driver browser driver
+     * @return page view
+     */
+    public static PageSnapshot take(final WebDriver driver) {
+        String json = (String) ((JavascriptExecutor) driver)
+                .executeScript(READ_PAGE);
+        return new Gson().fromJson(json, PageSnapshot.class);
+    }
+
+    /**
+     * Getter for estimate rows.
+     * @return estimate rows
+     */
+    public List<Estimate> getEstimates() {
+        return Collections.unmodifiableList(estimates);
+    }
+
+    /**
+     * Getter for phase tab names.
+     * @return phase names in page order
+     */
+    public List<String> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * Getter for task rows.
+     * @return task rows in page order
+     */
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Finds estimate row by exact client name.
+     * @param clientName client name
+     * @return estimate row or null when it is not shown
+     */
+    public Estimate findEstimate(final String clientName) {
+        for (Estimate estimate : estimates) {
+            if (clientName.equals(estimate.getClientName())) {
+                return estimate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks rendered page text contains the text. Field values are not
+     * rendered text, check them by rows of the view.
+     * @param value text to look for
+     * @return is text on page
+     */
+    public boolean containsText(final String value) {
+        return text.contains(value);
+    }
+}
@@ -0,0 +1,205 @@
+package helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks page of the test driver by its events: which page was verified
+ * loaded and whether anything navigated or was clicked or typed since.
+ * Lets page objects skip page load wait when nothing changed and defer
+ * it to the first interaction with the page.
+ */
+public final class PageState extends AbstractWebDriverEventListener {
+
+    /**
+     * States of tracked drivers.
+     */
+    private static final Map<WebDriver, PageState> STATES =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Page URL verified last, null when page changed since.
+     */
+    private volatile String verifiedUrl;
+
+    /**
+     * Page URL to verify before next interaction.
+     */
+    private volatile String expectedUrl;
+
+    /**
+     * Tracked driver, waits go through it so Angular synchronization of
+     * the driver applies to them.
+     */
+    private final WebDriver tracked;
+
+    /**
+     * State is created by {@link #track(WebDriver)}.
+     * @param trackedDriver tracked driver
+     */
+    private PageState(final WebDriver trackedDriver) {
+        this.tracked = trackedDriver;
+    }
+
+    /**
+     * Wraps driver into one reporting its events to page state.
+     * @param driver browser driver
+     * @return tracked driver
+     */
+    public static WebDriver track(final WebDriver driver) {
+        EventFiringWebDriver tracked = new EventFiringWebDriver(driver);
+        PageState state = new PageState(tracked);
+        tracked.register(state);
+        STATES.put(tracked, state);
+        return tracked;
+    }
+
+    /**
+     * Stops tracking the driver.
+     * @param driver tracked driver
+     */
+    public static void untrack(final WebDriver driver) {
+        STATES.remove(driver);
+    }
+
+    /**
+     * Checks page was verified loaded and did not change since.
+     * @param driver browser driver
+     * @param pageUrl page URL
+     * @return is page still loaded
+     */
+    static boolean isVerified(final WebDriver driver, final String pageUrl) {
+        PageState state = STATES.get(driver);
+        return state != null && pageUrl.equals(state.verifiedUrl);
+    }
+
+    /**
+     * Remembers page was verified loaded.
+     * @param driver browser driver
+     * @param pageUrl page URL
+     */
+    static void onVerified(final WebDriver driver, final String pageUrl) {
+        PageState state = STATES.get(driver);
+        if (state != null) {
+            state.verifiedUrl = pageUrl;
+        }
+    }
+
+    /**
+     * Defers page load wait to the first interaction of tracked driver.
+     * @param driver browser driver
+     * @param pageUrl page URL
+     * @return is wait deferred, false when driver is not tracked
+     */
+    static boolean expect(final WebDriver driver, final String pageUrl) {
+        PageState state = STATES.get(driver);
+        if (state == null) {
+            return false;
+        }
+        if (!pageUrl.equals(state.verifiedUrl)) {
+            state.expectedUrl = pageUrl;
+        }
+        return true;
+    }
+
+    /**
+     * Forgets verified and expected page before ui-router transition
+     * started by script.
+     * @param driver browser driver
+     */
+    static void onRouteChange(final WebDriver driver) {
+        PageState state = STATES.get(driver);
+        if (state != null) {
+            state.expectedUrl = null;
+            state.onChange();
+        }
+    }
+
+    /**
+     * Waits for expected page before interaction. Wait uses tracked
+     * driver, its own events find nothing expected and pass.
+     */
+    private void verifyExpected() {
+        String pageUrl = expectedUrl;
+        if (pageUrl == null) {
+            return;
+        }
+        expectedUrl = null;
+        PageObjectUtils.waitPageLoad(tracked, pageUrl);
+        verifiedUrl = pageUrl;
+    }
+
+    /**
+     * Forgets verified page after possible page change.
+     */
+    private void onChange() {
+        verifiedUrl = null;
+    }
+
+    @Override
+    public void beforeFindBy(final By by, final WebElement element,
+                             final WebDriver driver) {
+        verifyExpected();
+    }
+
+    @Override
+    public void beforeClickOn(final WebElement element,
+                              final WebDriver driver) {
+        verifyExpected();
+    }
+
+    @Override
+    public void beforeChangeValueOf(final WebElement element,
+                                    final WebDriver driver,
+                                    final CharSequence[] keysToSend) {
+        verifyExpected();
+    }
+
+    @Override
+    public void beforeScript(final String script, final WebDriver driver) {
+        verifyExpected();
+    }
+
+    @Override
+    public void afterClickOn(final WebElement element,
+                             final WebDriver driver) {
+        onChange();
+    }
+
+    @Override
+    public void afterChangeValueOf(final WebElement element,
+                                   final WebDriver driver,
+                                   final CharSequence[] keysToSend) {
+        onChange();
+    }
+
+    @Override
+    public void beforeNavigateTo(final String url, final WebDriver driver) {
+        expectedUrl = null;
+        onChange();
+    }
+
+    @Override
+    public void beforeNavigateBack(final WebDriver driver) {
+        expectedUrl = null;
+        onChange();
+    }
+
+    @Override
+    public void beforeNavigateForward(final WebDriver driver) {
+        expectedUrl = null;
+        onChange();
+    }
+
+    @Override
+    public void beforeNavigateRefresh(final WebDriver driver) {
+        expectedUrl = null;
+        onChange();
+    }
+}
@@ -57,7 +57,8 @@ public final class ParametersProvider {
      * @return ParametersProvider instance
      * @throws IOException when config file is not available
      */
-    private static ParametersProvider getInstance() throws IOException {
+    private static synchronized ParametersProvider getInstance()
+            throws IOException {
         if (instance == null) {
             instance = new ParametersProvider();
         }
@@ -84,4 +85,19 @@ public final class ParametersProvider {
         }
         return "";
     }
+
+    /**
+     * Gets integer parameter by its key.
+     * @param key of parameter to find in configuration
+     * @param defaultValue value used when parameter is not set
+     * @return parameter value or default value
+     */
+    public static int getIntProperty(final String key,
+                                     final int defaultValue) {
+        String value = getProperty(key).trim();
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+        return Integer.parseInt(value);
+    }
 }
@@ -0,0 +1,82 @@
+package helpers;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens application pages by ui-router state with single transition
+ * instead of clicking through navigation bar. Tests of navigation bar
+ * itself still use the bar.
+ */
+public final class Routes {
+
+    /**
+     * Estimates list state.
+     */
+    public static final String ESTIMATES = "index.estimates";
+
+    /**
+     * Goes to the state and returns error when transition failed.
+     * Arguments are state name and state parameters. Current state is
+     * reloaded.
+     */
+    private static final String GO =
+            "var name = arguments[0], params = arguments[1],"
+                    + " done = arguments[arguments.length - 1];"
+                    + " try {"
+                    + " var root = document.querySelector('[ng-app],"
+                    + " [data-ng-app], .ng-scope') || document.body;"
+                    + " var injector = window.angular"
+                    + " && angular.element(root).injector();"
+                    + " if (!injector || !injector.has('$state')) {"
+                    + " done('ui-router не загружен'); return; }"
+                    + " var state = injector.get('$state');"
+                    + " if (!state.get(name)) {"
+                    + " done('неизвестное состояние ' + name); return; }"
+                    + " state.go(name, params,"
+                    + " {reload: state.current.name === name})"
+                    + ".then(function () { done(null); },"
+                    + " function (e) { done('переход отклонен: '"
+                    + " + (e && e.message || e)); });"
+                    + " } catch (e) { done(String(e)); }";
+
+    /**
+     * Not called.
+     */
+    private Routes() {
+    }
+
+    /**
+     * Opens estimates list, list already open is loaded again.
+     * @param driver browser driver
+     */
+    public static void openEstimates(final WebDriver driver) {
+        go(driver, ESTIMATES, Collections.emptyMap());
+    }
+
+    /**
+     * Goes to the state and waits until transition is over.
+     * @param driver browser driver
+     * @param state state name
+     * @param params state parameters
+     * @throws IllegalStateException when transition failed
+     */
+    public static void go(final WebDriver driver, final String state,
+                          final Map<String, String> params)
+            throws IllegalStateException {
+        long timeout = TimeUnit.SECONDS.toMillis(ParametersProvider
+                .getIntProperty("explicitTimeout", 10));
+        PageState.onRouteChange(driver);
+        Object error = WaitMetrics.measure("route " + state, timeout,
+                () -> ((JavascriptExecutor) driver)
+                        .executeAsyncScript(GO, state, params));
+        if (error != null) {
+            throw new IllegalStateException("Не удалось открыть " + state
+                    + ": " + error);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package helpers;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes screenshots of finished tests by "screenshotPolicy" and writes
+ * them to Allure results in background. Test thread only gets encoded
+ * screenshot from browser and links the attachment, decoding, resizing
+ * to "screenshotMaxWidth" and writing happen in writer thread.
+ */
+public final class Screenshots {
+
+    /**
+     * Which finished tests get screenshot.
+     */
+    enum Policy {
+        /**
+         * Failed tests only.
+         */
+        FAILURE,
+        /**
+         * Failed tests and every "screenshotSampleEvery" other test.
+         */
+        SAMPLED,
+        /**
+         * Every test.
+         */
+        ALWAYS
+    }
+
+    /**
+     * Writes screenshots.
+     */
+    private static final ExecutorService WRITER =
+            Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Screenshots not written yet.
+     */
+    private static final Queue<Future<?>> PENDING =
+            new ConcurrentLinkedQueue<>();
+
+    /**
+     * Finished tests which were not failed.
+     */
+    private static final AtomicLong NOT_FAILED = new AtomicLong();
+
+    /**
+     * Not called.
+     */
+    private Screenshots() {
+    }
+
+    /**
+     * Takes screenshot of finished test when policy asks for it.
+     * @param driver browser driver of the test
+     * @param failed is test failed
+     */
+    public static void onTestFinish(final WebDriver driver,
+                                    final boolean failed) {
+        if (shouldCapture(failed)) {
+            capture(driver);
+        }
+    }
+
+    /**
+     * Waits until taken screenshots are written.
+     */
+    public static void awaitWritten() {
+        Future<?> write;
+        while ((write = PENDING.poll()) != null) {
+            try {
+                write.get();
+            } catch (ExecutionException e) {
+                System.out.println("Скриншот не сохранен: "
+                        + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks policy asks for screenshot of finished test.
+     * @param failed is test failed
+     * @return is screenshot needed
+     */
+    private static boolean shouldCapture(final boolean failed) {
+        switch (getPolicy()) {
+            case FAILURE:
+                return failed;
+            case SAMPLED:
+                if (failed) {
+                    return true;
+                }
+                int every = Math.max(1, ParametersProvider.getIntProperty(
+                        "screenshotSampleEvery", 10));
+                return NOT_FAILED.getAndIncrement() % every == 0;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Reads "screenshotPolicy", every test gets screenshot when it is not
+     * set.
+     * @return screenshot policy
+     * @throws IllegalStateException when policy is unknown
+     */
+    private static Policy getPolicy() throws IllegalStateException {
+        String policy = ParametersProvider.getProperty("screenshotPolicy")
+                .trim();
+        if (policy.isEmpty()) {
+            return Policy.ALWAYS;
+        }
+        for (Policy known : Policy.values()) {
+            if (known.name().equalsIgnoreCase(policy)) {
+                return known;
+            }
+        }
+        throw new IllegalStateException("Неизвестное значение"
+                + " screenshotPolicy '" + policy + "', допустимы: "
+                + Arrays.toString(Policy.values()).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets screenshot, links it to current test and hands it to writer.
+     * @param driver browser driver
+     */
+    private static void capture(final WebDriver driver) {
+        String encoded = ((TakesScreenshot) driver)
+                .getScreenshotAs(OutputType.BASE64);
+        String source = Allure.getLifecycle().prepareAttachment(
+                "Page screenshot", "image/png", ".png");
+        PENDING.add(WRITER.submit(() -> write(source, encoded)));
+    }
+
+    /**
+     * Writes screenshot attachment.
+     * @param source attachment file name
+     * @param encoded screenshot in Base64
+     * @throws IOException when screenshot can not be resized
+     */
+    private static Void write(final String source, final String encoded)
+            throws IOException {
+        InputStream png = Base64.getMimeDecoder().wrap(
+                new ByteArrayInputStream(
+                        encoded.getBytes(StandardCharsets.US_ASCII)));
+        int maxWidth = ParametersProvider.getIntProperty(
+                "screenshotMaxWidth", 0);
+        if (maxWidth > 0) {
+            png = resize(png, maxWidth);
+        }
+        Allure.getLifecycle().writeAttachment(source, png);
+        return null;
+    }
+
+    /**
+     * Scales screenshot down to the width keeping proportions.
+     * @param png screenshot
+     * @param maxWidth maximum width in pixels
+     * @return screenshot not wider than maximum width
+     * @throws IOException when screenshot can not be read
+     */
+    private static InputStream resize(final InputStream png,
+                                      final int maxWidth)
+            throws IOException {
+        BufferedImage image = ImageIO.read(png);
+        if (image == null) {
+            throw new IOException("неизвестный формат изображения");
+        }
+        if (image.getWidth() > maxWidth) {
+            int height = Math.max(1, (int) ((long) image.getHeight()
+                    * maxWidth / image.getWidth()));
+            BufferedImage scaled = new BufferedImage(maxWidth, height,
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(image, 0, 0, maxWidth, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            image = scaled;
+        }
+        ByteArrayOutputStream resized = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", resized);
+        return new ByteArrayInputStream(resized.toByteArray());
+    }
+}
@@ -0,0 +1,272 @@
+package helpers;
+
+import com.google.gson.GsonBuilder;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects browser session lifecycle timings per browser and version and
+ * grid admission statistics of the run.
+ */
+public final class SessionMetrics {
+
+    /**
+     * Session creation latency metric.
+     */
+    public static final String CREATION = "creation";
+
+    /**
+     * Time test waited for a session metric.
+     */
+    public static final String QUEUE = "queue";
+
+    /**
+     * Time test waited for a free grid slot metric.
+     */
+    public static final String ADMISSION = "admission";
+
+    /**
+     * First page load metric.
+     */
+    public static final String FIRST_NAVIGATION = "firstNavigation";
+
+    /**
+     * Lifetime of session quit during the run metric.
+     */
+    public static final String LIFETIME = "lifetime";
+
+    /**
+     * Summary key of grid admission statistics.
+     */
+    private static final String ADMISSION_SUMMARY = "gridAdmission";
+
+    /**
+     * Summary file name.
+     */
+    private static final String SUMMARY_FILE = "session-metrics.json";
+
+    /**
+     * Reported percentiles.
+     */
+    private static final int[] PERCENTILES = {50, 90, 95, 99};
+
+    /**
+     * Samples in milliseconds by browser and metric.
+     */
+    private static final Map<String, Map<String, List<Long>>> SAMPLES =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creation time and browser of alive sessions.
+     */
+    private static final Map<WebDriver, Session> SESSIONS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Grid admission controller of the run, null when grid slots are not
+     * limited.
+     */
+    private static volatile AdmissionController admission;
+
+    /**
+     * Alive session.
+     */
+    private static final class Session {
+        /**
+         * Browser name and version.
+         */
+        private final String browser;
+
+        /**
+         * Creation time.
+         */
+        private final long createdAt;
+
+        /**
+         * Session constructor.
+         * @param browserKey browser name and version
+         */
+        private Session(final String browserKey) {
+            this.browser = browserKey;
+            this.createdAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Not called.
+     */
+    private SessionMetrics() {
+    }
+
+    /**
+     * Reports statistics of the admission controller in the summary.
+     * @param controller grid admission controller
+     */
+    static void watch(final AdmissionController controller) {
+        admission = controller;
+    }
+
+    /**
+     * Records creation of the session.
+     * @param driver browser driver
+     * @param millis creation latency
+     */
+    public static void onCreated(final WebDriver driver, final long millis) {
+        Session session = new Session(getBrowser(driver));
+        SESSIONS.put(driver, session);
+        record(session.browser, CREATION, millis);
+    }
+
+    /**
+     * Records quit of the session.
+     * @param driver browser driver
+     */
+    public static void onQuit(final WebDriver driver) {
+        Session session = SESSIONS.remove(driver);
+        if (session != null) {
+            record(session.browser, LIFETIME,
+                    System.currentTimeMillis() - session.createdAt);
+        }
+    }
+
+    /**
+     * Records timing of the session.
+     * @param driver browser driver
+     * @param metric metric name
+     * @param millis duration
+     */
+    public static void record(final WebDriver driver, final String metric,
+                              final long millis) {
+        Session session = SESSIONS.get(driver);
+        record(session == null ? getBrowser(driver) : session.browser,
+                metric, millis);
+    }
+
+    /**
+     * Writes percentiles summary with grid admission statistics and
+     * attaches it to Allure report.
+     */
+    public static void writeSummary() {
+        Map<String, Object> report = new TreeMap<>(summarize());
+        AdmissionController controller = admission;
+        if (controller != null) {
+            report.put(ADMISSION_SUMMARY, admissionStatistics(controller));
+        }
+        String summary = new GsonBuilder().setPrettyPrinting().create()
+                .toJson(report);
+        Path file = Paths.get(System.getProperty("allure.results.directory",
+                "target"), "..", SUMMARY_FILE).normalize();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, summary.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Отчет о сессиях не сохранен: "
+                    + e.getMessage());
+        }
+        Allure.addAttachment("Session metrics", "application/json",
+                summary, ".json");
+    }
+
+    /**
+     * Adds sample.
+     * @param browser browser name and version
+     * @param metric metric name
+     * @param millis duration
+     */
+    private static void record(final String browser, final String metric,
+                               final long millis) {
+        SAMPLES.computeIfAbsent(browser, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(metric, key ->
+                        Collections.synchronizedList(new ArrayList<>()))
+                .add(millis);
+    }
+
+    /**
+     * Gets browser name and version of the session.
+     * @param driver browser driver
+     * @return browser name and version
+     */
+    private static String getBrowser(final WebDriver driver) {
+        if (driver instanceof HasCapabilities) {
+            Capabilities capabilities =
+                    ((HasCapabilities) driver).getCapabilities();
+            return capabilities.getBrowserName() + " "
+                    + capabilities.getVersion();
+        }
+        return ParametersProvider.getProperty("browserName") + " "
+                + ParametersProvider.getProperty("browserVersion");
+    }
+
+    /**
+     * Calculates statistics of all samples.
+     * @return statistics by browser and metric
+     */
+    private static Map<String, Map<String, Map<String, Long>>> summarize() {
+        Map<String, Map<String, Map<String, Long>>> summary = new TreeMap<>();
+        for (Map.Entry<String, Map<String, List<Long>>> browser
+                : SAMPLES.entrySet()) {
+            Map<String, Map<String, Long>> metrics = new TreeMap<>();
+            for (Map.Entry<String, List<Long>> metric
+                    : browser.getValue().entrySet()) {
+                List<Long> samples;
+                synchronized (metric.getValue()) {
+                    samples = new ArrayList<>(metric.getValue());
+                }
+                metrics.put(metric.getKey(), statistics(samples));
+            }
+            summary.put(browser.getKey(), metrics);
+        }
+        return summary;
+    }
+
+    /**
+     * Reads grid admission statistics.
+     * @param controller grid admission controller
+     * @return statistics
+     */
+    private static Map<String, Long> admissionStatistics(
+            final AdmissionController controller) {
+        Map<String, Long> statistics = new TreeMap<>();
+        statistics.put("capacity", (long) controller.getCapacity());
+        statistics.put("admissions", controller.getAdmissions());
+        statistics.put("averageWait", controller.getAverageWait());
+        statistics.put("queueDepth", (long) controller.getQueueDepth());
+        statistics.put("maxQueueDepth",
+                (long) controller.getMaxQueueDepth());
+        statistics.put("admitted", (long) controller.getAdmitted());
+        return statistics;
+    }
+
+    /**
+     * Calculates count, percentiles and max of samples.
+     * @param samples durations
+     * @return statistics
+     */
+    private static Map<String, Long> statistics(final List<Long> samples) {
+        Collections.sort(samples);
+        Map<String, Long> statistics = new TreeMap<>();
+        statistics.put("count", (long) samples.size());
+        for (int percentile : PERCENTILES) {
+            int index = (int) Math.ceil(percentile / 100.0 * samples.size())
+                    - 1;
+            statistics.put("p" + percentile,
+                    samples.get(Math.max(index, 0)));
+        }
+        statistics.put("max", samples.get(samples.size() - 1));
+        return statistics;
+    }
+}
@@ -0,0 +1,61 @@
+package helpers;
+
+import org.testng.ITestContext;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Starts browser sessions for upcoming test invocations while current one
+ * runs. Sessions are prefetched only from spare capacity, see
+ * {@link DriverFactory#prefetchDriver()}.
+ */
+public final class SessionPrefetcher {
+
+    /**
+     * Not called.
+     */
+    private SessionPrefetcher() {
+    }
+
+    /**
+     * Prefetches session for the first invocation of the test when
+     * invocations run in the test thread.
+     * @param context test context
+     */
+    public static void onTestStart(final ITestContext context) {
+        if (isSequential(context)) {
+            DriverFactory.prefetchDriver();
+        }
+    }
+
+    /**
+     * Prefetches session for the next invocation when invocations run
+     * one by one in the same thread.
+     * @param context test context
+     */
+    public static void onSessionStart(final ITestContext context) {
+        if (isSequential(context)) {
+            DriverFactory.prefetchDriver();
+        }
+    }
+
+    /**
+     * Releases session prefetched and not used by the test.
+     * @param context test context
+     */
+    public static void onTestFinish(final ITestContext context) {
+        DriverFactory.cancelPrefetch();
+    }
+
+    /**
+     * Checks test invocations run in the same thread.
+     * @param context test context
+     * @return are test invocations run one by one
+     */
+    private static boolean isSequential(final ITestContext context) {
+        XmlSuite.ParallelMode parallel =
+                context.getCurrentXmlTest().getParallel();
+        return parallel == null
+                || parallel == XmlSuite.ParallelMode.NONE
+                || parallel == XmlSuite.ParallelMode.TESTS;
+    }
+}
@@ -0,0 +1,124 @@
+package helpers;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.LoginPage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wipes browser session state between tests instead of recreating it.
+ * Mode is selected by "sessionReset": "soft" wipes state, "recreate"
+ * always replaces the session.
+ */
+public final class SessionReset {
+
+    /**
+     * Login input of clean login page.
+     */
+    private static final By LOGIN_INPUT =
+            By.cssSelector("input[ng-model='vm.login']");
+
+    /**
+     * Clears web storage of the page origin.
+     */
+    private static final String CLEAR_STORAGE =
+            "try { window.localStorage.clear();"
+                    + " window.sessionStorage.clear(); } catch (e) {}";
+
+    /**
+     * Sessions left on verified clean login page.
+     */
+    private static final Set<WebDriver> CLEAN =
+            Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * Not called.
+     */
+    private SessionReset() {
+    }
+
+    /**
+     * Resets session state according to configured mode.
+     * @param driver browser driver
+     * @return is session clean and reusable
+     */
+    public static boolean reset(final WebDriver driver) {
+        CLEAN.remove(driver);
+        if ("recreate".equals(ParametersProvider.getProperty("sessionReset"))) {
+            return false;
+        }
+        try {
+            closeExtraWindows(driver);
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE);
+            driver.get(ParametersProvider.getProperty("webUrl"));
+            if (!isCleanLoginPage(driver)) {
+                System.out.println("После сброса сессии открыта страница "
+                        + driver.getCurrentUrl());
+                return false;
+            }
+        } catch (WebDriverException e) {
+            System.out.println("Сессия браузера не сброшена: "
+                    + e.getMessage());
+            return false;
+        }
+        CLEAN.add(driver);
+        return true;
+    }
+
+    /**
+     * Checks session was left on clean login page by the last reset and
+     * forgets it, so the check succeeds only once per reset.
+     * @param driver browser driver
+     * @return is session on clean login page
+     */
+    public static boolean takeClean(final WebDriver driver) {
+        return CLEAN.remove(driver);
+    }
+
+    /**
+     * Closes all windows except the current or the first one.
+     * @param driver browser driver
+     */
+    private static void closeExtraWindows(final WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        if (handles.size() < 2) {
+            return;
+        }
+        String keep;
+        try {
+            keep = driver.getWindowHandle();
+        } catch (WebDriverException e) {
+            keep = handles.iterator().next();
+        }
+        for (String handle : handles) {
+            if (!handle.equals(keep)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(keep);
+    }
+
+    /**
+     * Checks login page is open and its form is empty.
+     * @param driver browser driver
+     * @return is login page clean
+     */
+    private static boolean isCleanLoginPage(final WebDriver driver) {
+        new WebDriverWait(driver, ParametersProvider.getIntProperty(
+                "explicitTimeout", 10))
+                .until(ExpectedConditions.urlContains(LoginPage.getUrl()));
+        List<WebElement> loginInputs = driver.findElements(LOGIN_INPUT);
+        return !loginInputs.isEmpty()
+                && loginInputs.get(0).getAttribute("value").isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package helpers;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Derives unique test data names from configured base values, so tests
+ * running at the same time never touch each other's data. Name is
+ * "base #run.nonce-sequence", where run is start time of the run in
+ * seconds and nonce is random per run, so runs started in the same second
+ * differ too.
+ */
+public final class TestData {
+
+    /**
+     * Start time of the run in seconds.
+     */
+    private static final long RUN = TimeUnit.MILLISECONDS.toSeconds(
+            System.currentTimeMillis());
+
+    /**
+     * Random number of the run.
+     */
+    private static final int NONCE = new SecureRandom().nextInt()
+            & Integer.MAX_VALUE;
+
+    /**
+     * Name sequence of the run.
+     */
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    /**
+     * Suffix of unique name.
+     */
+    private static final Pattern SUFFIX = Pattern.compile(
+            " #([0-9a-z]+)\\.[0-9a-z]+-[0-9]+$");
+
+    /**
+     * Not called.
+     */
+    private TestData() {
+    }
+
+    /**
+     * Makes unique name from configured base value.
+     * @param key configuration key of base value
+     * @return unique name
+     */
+    public static String unique(final String key) {
+        return ParametersProvider.getProperty(key) + " #"
+                + Long.toString(RUN, Character.MAX_RADIX) + "."
+                + Integer.toString(NONCE, Character.MAX_RADIX) + "-"
+                + SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * Checks name is unique name made from base value by run started
+     * earlier than "staleDataAge" seconds ago. Base value itself and
+     * other names without the run suffix may belong to people or other
+     * suites and are never stale.
+     * @param name name to check
+     * @param base base value
+     * @return is name left by earlier run
+     */
+    public static boolean isStale(final String name, final String base) {
+        if (!name.startsWith(base)) {
+            return false;
+        }
+        Matcher suffix = SUFFIX.matcher(name.substring(base.length()));
+        if (!suffix.matches()) {
+            return false;
+        }
+        long run;
+        try {
+            run = Long.parseLong(suffix.group(1), Character.MAX_RADIX);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return RUN - run >= ParametersProvider.getIntProperty(
+                "staleDataAge", 3600);
+    }
+}
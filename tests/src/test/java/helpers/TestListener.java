@@ -1,15 +1,35 @@
 package helpers;
 
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import tests.BaseTest;
 
 public class TestListener implements ITestListener {
 
+    /**
+     * Listener for test start, prefetches browser session.
+     * @param context test context
+     */
+    @Override
+    public void onStart(final ITestContext context) {
+        ITestListener.super.onStart(context);
+        SessionPrefetcher.onTestStart(context);
+    }
+
+    /**
+     * Listener for test finish, releases unused browser session and waits
+     * for screenshots to be written.
+     * @param context test context
+     */
+    @Override
+    public void onFinish(final ITestContext context) {
+        ITestListener.super.onFinish(context);
+        SessionPrefetcher.onTestFinish(context);
+        Screenshots.awaitWritten();
+    }
+
     /**
      * Listener for failed with timeout test's.
      * @param result test result
@@ -17,8 +37,7 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestFailedWithTimeout(final ITestResult result) {
         ITestListener.super.onTestFailedWithTimeout(result);
-        WebDriver driver = ((BaseTest) result.getInstance()).getDriver();
-        saveAllureScreenshot(driver);
+        trySaveScreenshot(result, true);
     }
 
     /**
@@ -28,8 +47,7 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSuccess(final ITestResult result) {
         ITestListener.super.onTestSuccess(result);
-        WebDriver driver = ((BaseTest) result.getInstance()).getDriver();
-        saveAllureScreenshot(driver);
+        trySaveScreenshot(result, false);
     }
 
     /**
@@ -39,28 +57,47 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestFailure(final ITestResult result) {
         ITestListener.super.onTestFailure(result);
-        WebDriver driver = ((BaseTest) result.getInstance()).getDriver();
-        saveAllureScreenshot(driver);
+        trySaveScreenshot(result, true);
     }
 
     /**
-     * Listener for skipped tests.
+     * Listener for skipped tests. Skip is captured as failure, test is
+     * usually skipped because its configuration method failed.
      * @param result test result
      */
     @Override
     public void onTestSkipped(final ITestResult result) {
         ITestListener.super.onTestSkipped(result);
-        WebDriver driver = ((BaseTest) result.getInstance()).getDriver();
-        saveAllureScreenshot(driver);
+        trySaveScreenshot(result, true);
+    }
+
+    /**
+     * Saves screenshot by "screenshotPolicy" when test invocation has
+     * a browser driver.
+     * @param result test result
+     * @param failed is test failed
+     */
+    private void trySaveScreenshot(final ITestResult result,
+                                   final boolean failed) {
+        WebDriver driver = getDriver(result);
+        if (driver != null) {
+            Screenshots.onTestFinish(driver, failed);
+        }
     }
 
     /**
-     * Save screenshot in allure-report.
-     * @return screenshot
-     * @param webDriver
+     * Resolves driver of the test invocation.
+     * @param result test result
+     * @return browser driver or null when test does not use browser
      */
-    @Attachment(value = "Page screenshot", type = "image/png")
-    public byte[] saveAllureScreenshot(final WebDriver webDriver) {
-        return ((TakesScreenshot) webDriver).getScreenshotAs(OutputType.BYTES);
+    private static WebDriver getDriver(final ITestResult result) {
+        Object driver = result.getAttribute(BaseTest.DRIVER_ATTRIBUTE);
+        if (driver instanceof WebDriver) {
+            return (WebDriver) driver;
+        }
+        if (result.getInstance() instanceof BaseTest) {
+            return ((BaseTest) result.getInstance()).getDriver();
+        }
+        return null;
     }
 }
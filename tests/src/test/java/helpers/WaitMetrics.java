@@ -0,0 +1,278 @@
+package helpers;
+
+import com.google.gson.GsonBuilder;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collects time spent in explicit waits per page object, Allure step and
+ * condition and reports the slowest of them.
+ */
+public final class WaitMetrics {
+
+    /**
+     * Report file name.
+     */
+    private static final String REPORT_FILE = "wait-metrics.json";
+
+    /**
+     * Package of page objects.
+     */
+    private static final String PAGES_PACKAGE = "pages.";
+
+    /**
+     * Statistics by page object, step and condition.
+     */
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * Nesting depth of measured waits in current thread.
+     */
+    private static final ThreadLocal<int[]> DEPTH =
+            ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Statistics of one wait place.
+     */
+    private static final class Stats {
+        /**
+         * Page object.
+         */
+        private final String page;
+
+        /**
+         * Allure step.
+         */
+        private final String step;
+
+        /**
+         * Wait condition.
+         */
+        private final String condition;
+
+        /**
+         * Number of waits.
+         */
+        private long count;
+
+        /**
+         * Total wait time in milliseconds.
+         */
+        private long totalMillis;
+
+        /**
+         * Longest wait time in milliseconds.
+         */
+        private long maxMillis;
+
+        /**
+         * Longest wait time share of its timeout.
+         */
+        private double maxTimeoutShare;
+
+        /**
+         * Number of timed out waits.
+         */
+        private long timeouts;
+
+        /**
+         * Statistics constructor.
+         * @param pageObject page object
+         * @param allureStep Allure step
+         * @param waitCondition wait condition
+         */
+        private Stats(final String pageObject, final String allureStep,
+                      final String waitCondition) {
+            this.page = pageObject;
+            this.step = allureStep;
+            this.condition = waitCondition;
+        }
+
+        /**
+         * Adds wait.
+         * @param millis wait time
+         * @param timeoutMillis wait timeout
+         * @param timedOut is wait timed out
+         */
+        private synchronized void add(final long millis,
+                                      final long timeoutMillis,
+                                      final boolean timedOut) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            if (timeoutMillis > 0) {
+                maxTimeoutShare = Math.max(maxTimeoutShare,
+                        (double) millis / timeoutMillis);
+            }
+            if (timedOut) {
+                timeouts++;
+            }
+        }
+
+        /**
+         * Makes report row.
+         * @return report row
+         */
+        private synchronized Map<String, Object> toRow() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("page", page);
+            row.put("step", step);
+            row.put("condition", condition);
+            row.put("count", count);
+            row.put("totalMs", totalMillis);
+            row.put("avgMs", totalMillis / count);
+            row.put("maxMs", maxMillis);
+            row.put("maxTimeoutShare",
+                    Math.round(maxTimeoutShare * 100) / 100.0);
+            row.put("timeouts", timeouts);
+            return row;
+        }
+
+        /**
+         * Getter for total wait time.
+         * @return total wait time in milliseconds
+         */
+        private synchronized long getTotalMillis() {
+            return totalMillis;
+        }
+    }
+
+    /**
+     * Not called.
+     */
+    private WaitMetrics() {
+    }
+
+    /**
+     * Runs wait and records its time. Waits nested into measured wait
+     * are counted by outer one only.
+     * @param condition wait condition name
+     * @param timeoutMillis wait timeout
+     * @param wait wait to run
+     * @param <T> wait result type
+     * @return wait result
+     */
+    public static <T> T measure(final String condition,
+                                final long timeoutMillis,
+                                final Supplier<T> wait) {
+        int[] depth = DEPTH.get();
+        if (depth[0] > 0) {
+            return wait.get();
+        }
+        depth[0]++;
+        long startTime = System.currentTimeMillis();
+        boolean timedOut = true;
+        try {
+            T result = wait.get();
+            timedOut = false;
+            return result;
+        } finally {
+            depth[0]--;
+            record(condition, timeoutMillis,
+                    System.currentTimeMillis() - startTime, timedOut);
+        }
+    }
+
+    /**
+     * Runs wait and records its time.
+     * @param condition wait condition name
+     * @param timeoutMillis wait timeout
+     * @param wait wait to run
+     */
+    public static void measure(final String condition,
+                               final long timeoutMillis,
+                               final Runnable wait) {
+        measure(condition, timeoutMillis, () -> {
+            wait.run();
+            return null;
+        });
+    }
+
+    /**
+     * Writes waits ranked by total time and attaches them to Allure
+     * report.
+     */
+    public static void writeReport() {
+        List<Stats> ranked = new ArrayList<>(STATS.values());
+        ranked.sort((first, second) -> Long.compare(
+                second.getTotalMillis(), first.getTotalMillis()));
+        int size = ParametersProvider.getIntProperty("waitReportSize", 20);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Stats stats : ranked.subList(0, Math.min(size, ranked.size()))) {
+            rows.add(stats.toRow());
+        }
+        String report = new GsonBuilder().setPrettyPrinting().create()
+                .toJson(rows);
+        Path file = Paths.get(System.getProperty("allure.results.directory",
+                "target"), "..", REPORT_FILE).normalize();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Отчет об ожиданиях не сохранен: "
+                    + e.getMessage());
+        }
+        Allure.addAttachment("Slowest waits", "application/json",
+                report, ".json");
+    }
+
+    /**
+     * Adds wait to statistics of its place.
+     * @param condition wait condition name
+     * @param timeoutMillis wait timeout
+     * @param millis wait time
+     * @param timedOut is wait timed out
+     */
+    private static void record(final String condition,
+                               final long timeoutMillis, final long millis,
+                               final boolean timedOut) {
+        String page = getPage();
+        String step = getStep();
+        STATS.computeIfAbsent(page + "\n" + step + "\n" + condition,
+                key -> new Stats(page, step, condition))
+                .add(millis, timeoutMillis, timedOut);
+    }
+
+    /**
+     * Finds page object method calling the wait.
+     * @return page object class and method or "-"
+     */
+    private static String getPage() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            if (frame.getClassName().startsWith(PAGES_PACKAGE)) {
+                return frame.getClassName().substring(PAGES_PACKAGE.length())
+                        + "." + frame.getMethodName();
+            }
+        }
+        return "-";
+    }
+
+    /**
+     * Gets name of running Allure step.
+     * @return step name or "-"
+     */
+    private static String getStep() {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (!current.isPresent()
+                || current.equals(lifecycle.getCurrentTestCase())) {
+            return "-";
+        }
+        String[] name = {"-"};
+        lifecycle.updateStep(current.get(), step -> name[0] = step.getName());
+        return name[0];
+    }
+}
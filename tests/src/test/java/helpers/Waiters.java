@@ -2,16 +2,90 @@ package helpers;
 
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Helper class for custom explicit waits.
  */
 public final class Waiters {
+    /**
+     * Resolves when page DOM had no mutations and Angular had no pending
+     * requests for quiet period, or with false after timeout. Arguments
+     * are quiet period and timeout in milliseconds.
+     */
+    private static final String DOM_STABLE =
+            "var quiet = arguments[0], timeout = arguments[1],"
+                    + " done = arguments[arguments.length - 1],"
+                    + " start = Date.now(), last = start, finished = false;"
+                    + " var idle = function () { try {"
+                    + " return angular.element(document).injector()"
+                    + ".get('$http').pendingRequests.length === 0;"
+                    + " } catch (e) { return true; } };"
+                    + " var observer = new MutationObserver(function () {"
+                    + " last = Date.now(); });"
+                    + " observer.observe(document, {childList: true,"
+                    + " subtree: true, attributes: true,"
+                    + " characterData: true});"
+                    + " var finish = function (stable) { if (!finished) {"
+                    + " finished = true; observer.disconnect();"
+                    + " done(stable); } };"
+                    + " var check = function () { var now = Date.now();"
+                    + " if (!idle()) { last = now; }"
+                    + " if (now - last >= quiet) { finish(true); }"
+                    + " else if (now - start >= timeout) { finish(false); }"
+                    + " else { setTimeout(check, Math.min(quiet,"
+                    + " Math.max(10, quiet - (now - last)))); } };"
+                    + " setTimeout(check, quiet);";
+
+    /**
+     * Resolves with null when element is actionable or with the reason it
+     * is not. Element is actionable when it is visible, enabled, not
+     * covered by other element and keeps its position for two frames.
+     */
+    private static final String ACTIONABLE =
+            "var el = arguments[0], done = arguments[arguments.length - 1];"
+                    + " var style = window.getComputedStyle(el);"
+                    + " var rect = el.getBoundingClientRect();"
+                    + " if (rect.width === 0 || rect.height === 0"
+                    + " || style.visibility === 'hidden'"
+                    + " || style.display === 'none') {"
+                    + " done('не видим'); return; }"
+                    + " if (el.disabled) { done('не активен'); return; }"
+                    + " if (rect.top < 0 || rect.left < 0"
+                    + " || rect.bottom > window.innerHeight"
+                    + " || rect.right > window.innerWidth) {"
+                    + " el.scrollIntoView({block: 'center'});"
+                    + " rect = el.getBoundingClientRect(); }"
+                    + " requestAnimationFrame(function () {"
+                    + " requestAnimationFrame(function () {"
+                    + " var moved = el.getBoundingClientRect();"
+                    + " if (moved.top !== rect.top"
+                    + " || moved.left !== rect.left"
+                    + " || moved.width !== rect.width"
+                    + " || moved.height !== rect.height) {"
+                    + " done('анимируется'); return; }"
+                    + " var top = document.elementFromPoint("
+                    + "moved.left + moved.width / 2,"
+                    + " moved.top + moved.height / 2);"
+                    + " if (top !== el && !el.contains(top)"
+                    + " && !(top && top.contains(el)"
+                    + " && top.tagName === 'LABEL')) {"
+                    + " done('перекрыт'); return; }"
+                    + " done(null); }); });";
+
+    /**
+     * Polling delays used when "actionablePolling" is not configured.
+     */
+    private static final String DEFAULT_POLLING = "25,50,100,200,400";
+
     /**
      * Not called.
      */
@@ -32,7 +106,9 @@ public final class Waiters {
         ExpectedCondition<Boolean> angularLoad = driver ->
                 Boolean.valueOf(((JavascriptExecutor) driver)
                         .executeScript(angularReady).toString());
-        new WebDriverWait(webDriver, timeout).until(angularLoad);
+        WaitMetrics.measure("angularReady", TimeUnit.SECONDS.toMillis(timeout),
+                () -> new WebDriverWait(webDriver, timeout)
+                        .until(angularLoad));
     }
 
     /**
@@ -46,6 +122,133 @@ public final class Waiters {
         waitUntilAngularReady(webDriver, explicitTimeout);
     }
 
+    /**
+     * Wait until page DOM is quiet for "domQuietPeriod" milliseconds,
+     * at most "domStableTimeout" milliseconds. Waits in the page with
+     * single remote call.
+     *
+     * @param webDriver browser driver
+     * @throws TimeoutException when DOM is not stable in time
+     */
+    public static void waitUntilDomStable(final WebDriver webDriver)
+            throws TimeoutException {
+        int quietPeriod = ParametersProvider.getIntProperty(
+                "domQuietPeriod", 300);
+        int timeout = ParametersProvider.getIntProperty(
+                "domStableTimeout", 10000);
+        Object stable = WaitMetrics.measure("domStable", timeout,
+                () -> ((JavascriptExecutor) webDriver)
+                        .executeAsyncScript(DOM_STABLE, quietPeriod,
+                                timeout));
+        if (!Boolean.TRUE.equals(stable)) {
+            throw new TimeoutException("Страница не стабилизировалась за "
+                    + timeout + " мс");
+        }
+    }
+
+    /**
+     * Wait until WebElement is visible, enabled, not covered and not
+     * animating. Each check is single remote call. Delays between checks
+     * grow by "actionablePolling" list of milliseconds, last delay is
+     * repeated.
+     *
+     * @param webDriver WebDriver
+     * @param element the WebElement we are going to interact with
+     * @throws TimeoutException when element is not actionable in time
+     * @throws StaleElementReferenceException when element is not page
+     * object element and became stale
+     */
+    public static void waitUntilElementIsActionable(
+            final WebDriver webDriver, final WebElement element)
+            throws TimeoutException {
+        long timeout = TimeUnit.SECONDS.toMillis(ParametersProvider
+                .getIntProperty("explicitTimeout", 10));
+        WaitMetrics.measure("actionable", timeout,
+                () -> pollActionable(webDriver, element, timeout));
+    }
+
+    /**
+     * Polls element until it is actionable.
+     *
+     * @param webDriver WebDriver
+     * @param element the WebElement we are going to interact with
+     * @param timeout wait timeout in milliseconds
+     * @throws TimeoutException when element is not actionable in time
+     * @throws StaleElementReferenceException when element is not page
+     * object element and became stale
+     */
+    private static void pollActionable(final WebDriver webDriver,
+                                       final WebElement element,
+                                       final long timeout)
+            throws TimeoutException {
+        long deadline = System.currentTimeMillis() + timeout;
+        long[] delays = getPollingDelays();
+        String reason;
+        for (int attempt = 0;; attempt++) {
+            try {
+                reason = (String) ((JavascriptExecutor) webDriver)
+                        .executeAsyncScript(ACTIONABLE, element);
+            } catch (NoSuchElementException e) {
+                reason = "не найден";
+            } catch (StaleElementReferenceException e) {
+                if (!LazyElement.invalidate(element)) {
+                    throw e;
+                }
+                reason = "устарел";
+            }
+            if (reason == null) {
+                return;
+            }
+            long delay = delays[Math.min(attempt, delays.length - 1)];
+            if (System.currentTimeMillis() + delay > deadline) {
+                break;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new TimeoutException("Элемент " + element
+                + " недоступен для действий: " + reason);
+    }
+
+    /**
+     * Reads polling delays of actionable wait.
+     *
+     * @return delays in milliseconds
+     */
+    private static long[] getPollingDelays() {
+        String polling = ParametersProvider.getProperty("actionablePolling");
+        if (polling == null || polling.trim().isEmpty()) {
+            polling = DEFAULT_POLLING;
+        }
+        String[] values = polling.split(",");
+        long[] delays = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            delays[i] = Long.parseLong(values[i].trim());
+        }
+        return delays;
+    }
+
+    /**
+     * Wait until WebElement is removed from page or hidden.
+     *
+     * @param webDriver WebDriver
+     * @param element the WebElement which should disappear
+     * @throws TimeoutException when element is still shown
+     */
+    public static void waitUntilElementIsGone(final WebDriver webDriver,
+                                              final WebElement element)
+            throws TimeoutException {
+        long timeout = ParametersProvider.getIntProperty(
+                "explicitTimeout", 10);
+        WaitMetrics.measure("gone", TimeUnit.SECONDS.toMillis(timeout),
+                () -> new WebDriverWait(webDriver, timeout)
+                        .until(ExpectedConditions.invisibilityOf(element)));
+    }
+
     /**
      * Wait until WebElement is visible.
      *
@@ -56,10 +259,12 @@ public final class Waiters {
     public static void waitUntilElementIsVisible(final WebDriver webDriver,
                                                  final WebElement element) {
         try {
-            new WebDriverWait(webDriver, Long.parseLong(ParametersProvider
-                    .getProperty("explicitTimeout")))
-                    .until(ExpectedConditions.visibilityOf(element))
-                    .isEnabled();
+            long timeout = ParametersProvider.getIntProperty(
+                    "explicitTimeout", 10);
+            WaitMetrics.measure("visible", TimeUnit.SECONDS.toMillis(timeout),
+                    () -> new WebDriverWait(webDriver, timeout)
+                            .until(ExpectedConditions.visibilityOf(element))
+                            .isEnabled());
         } catch (NoSuchElementException e) {
             System.out.println("Элемент" + element + "не найден");
             e.printStackTrace();
@@ -77,10 +282,12 @@ public final class Waiters {
     public static void waitUntilElementIsClickable(final WebDriver webDriver,
                                                    final  WebElement element) {
         try {
-            new WebDriverWait(webDriver, Long.parseLong(ParametersProvider
-                    .getProperty("explicitTimeout")))
-                    .until(ExpectedConditions
-                            .elementToBeClickable(element));
+            long timeout = ParametersProvider.getIntProperty(
+                    "explicitTimeout", 10);
+            WaitMetrics.measure("clickable", TimeUnit.SECONDS.toMillis(timeout),
+                    () -> new WebDriverWait(webDriver, timeout)
+                            .until(ExpectedConditions
+                                    .elementToBeClickable(element)));
         } catch (NoSuchElementException e) {
             System.out.println("Элемент" + element + "не найден");
             e.printStackTrace();
@@ -1,12 +1,17 @@
 package pages;
 
+import helpers.FormFiller;
+import helpers.NoCache;
 import helpers.PageObjectUtils;
+import helpers.PageSnapshot;
 import helpers.Waiters;
 import io.qameta.allure.Step;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+
+import java.util.List;
 
 public class EditGradePage {
 
@@ -33,133 +38,157 @@ public class EditGradePage {
      * Phase button element.
      */
     @FindBy(css = "button[id='add-phase-button']")
-    private WebElement addPhaseButton;
+    private final WebElement addPhaseButton =
+            EditGradePageElements.addPhaseButton(this);
 
     /**
      * Client info table element.
      */
     @FindBy(css = "md-content[ng-show='!vm.preloader']")
-    private WebElement clientInfoTable;
+    private final WebElement clientInfoTable =
+            EditGradePageElements.clientInfoTable(this);
 
     /**
      * Phase window element.
      */
     @FindBy(css = "md-dialog[class='phaseModal md-transition-in']")
-    private WebElement addPhaseWindow;
+    private final WebElement addPhaseWindow =
+            EditGradePageElements.addPhaseWindow(this);
 
     /**
      * Mobile phase element.
      */
+    @NoCache
     @FindBy(css = "div[class='md-container md-ink-ripple']")
-    private WebElement mobilePhaseFromDirectory;
+    private final WebElement mobilePhaseFromDirectory =
+            EditGradePageElements.mobilePhaseFromDirectory(this);
 
     /**
      * Custom phase input element.
      */
     @FindBy(css = "input[id='save-adding-phases-button']")
-    private WebElement customPhaseInput;
+    private final WebElement customPhaseInput =
+            EditGradePageElements.customPhaseInput(this);
 
     /**
      * Save phase button element.
      */
     @FindBy(css = "button[class='md-primary md-button md-ink-ripple']")
-    private WebElement savePhaseButton;
+    private final WebElement savePhaseButton =
+            EditGradePageElements.savePhaseButton(this);
 
     /**
      * New task or feature element.
      */
     @FindBy(css = "button[ng-click=\"vm.openFab($event)\"]")
-    private WebElement addNewTaskOrFeatureButton;
+    private final WebElement addNewTaskOrFeatureButton =
+            EditGradePageElements.addNewTaskOrFeatureButton(this);
 
     /**
      * New task element.
      */
     @FindBy(css = "div[ng-click='vm.addNewTask($event)']")
-    private WebElement addNewTaskButton;
+    private final WebElement addNewTaskButton =
+            EditGradePageElements.addNewTaskButton(this);
 
     /**
      * Phase window element.
      */
     @FindBy(css = "md-dialog[class='phaseModal md-transition-in']")
-    private WebElement phaseWindow;
+    private final WebElement phaseWindow =
+            EditGradePageElements.phaseWindow(this);
 
     /**
      * First task or feature element.
      */
     @FindBy(css = "textarea[item-name='vm.item.name']")
-    private WebElement firstTaskOrFeatureInColum;
+    private final WebElement firstTaskOrFeatureInColum =
+            EditGradePageElements.firstTaskOrFeatureInColum(this);
 
     /**
      * Task window element.
      */
     @FindBy(css = "md-dialog[role=\"dialog\"]")
-    private WebElement taskWindow;
+    private final WebElement taskWindow =
+            EditGradePageElements.taskWindow(this);
     /**
      * Custom task input element.
      */
     @FindBy(css = "textarea[id=\"task-name-textarea\"]")
-    private WebElement customTaskInput;
+    private final WebElement customTaskInput =
+            EditGradePageElements.customTaskInput(this);
 
     /**
      * First task window element.
      */
+    @NoCache
     @FindBy(css = "div[class=\"md-container md-ink-ripple\"]")
-    private WebElement firstTaskInWindow;
+    private final WebElement firstTaskInWindow =
+            EditGradePageElements.firstTaskInWindow(this);
 
     /**
      * Save task button element.
      */
     @FindBy(css = "button[id='save-adding-tasks-button']")
-    private WebElement saveTaskButton;
+    private final WebElement saveTaskButton =
+            EditGradePageElements.saveTaskButton(this);
 
     /**
      * Task in page header element.
      */
     @FindBy(css = "md-tab-item[md-tabs-template=\"::tab.label\"] "
             + "label[contenteditable=\"false\"]")
-    private WebElement phaseInHeader;
+    private final WebElement phaseInHeader =
+            EditGradePageElements.phaseInHeader(this);
 
     /**
      * Commentary button element.
      */
     @FindBy(css = "md-icon[ng-click='vm.toggleDescription()']")
-    private WebElement commentaryButton;
+    private final WebElement commentaryButton =
+            EditGradePageElements.commentaryButton(this);
 
     /**
      * Commentary input field element.
      */
     @FindBy(css = "textarea[id='description-textarea']")
-    private WebElement commentaryInput;
+    private final WebElement commentaryInput =
+            EditGradePageElements.commentaryInput(this);
 
     /**
      * Filed from element.
      */
     @FindBy(css = "input[wh-value='vm.item.minHours']")
-    private WebElement fieldFromInput;
+    private final WebElement fieldFromInput =
+            EditGradePageElements.fieldFromInput(this);
 
     /**
      * Field to element.
      */
     @FindBy(css = "input[wh-value='vm.item.maxHours']")
-    private WebElement fieldToInput;
+    private final WebElement fieldToInput =
+            EditGradePageElements.fieldToInput(this);
 
     /**
      * Edit phase button element.
      */
     @FindBy(css = "md-icon[aria-label='Edit Phase']")
-    private WebElement editPhaseButton;
+    private final WebElement editPhaseButton =
+            EditGradePageElements.editPhaseButton(this);
 
     /**
      * delete phase button element.
      */
     @FindBy(css = "button[ng-click='vm.deletePhase($event, phase)']")
-    private WebElement deletePhaseButton;
+    private final WebElement deletePhaseButton =
+            EditGradePageElements.deletePhaseButton(this);
 
     /**
      * Confirm Delete button element in delete window.
      */
     @FindBy(xpath = "//span[contains(text(), 'ОК')]/parent::*")
-    private WebElement confirmDeletePhaseButton;
+    private final WebElement confirmDeletePhaseButton =
+            EditGradePageElements.confirmDeletePhaseButton(this);
 
     /**
      * Page constructor.
@@ -170,8 +199,16 @@ public class EditGradePage {
     public EditGradePage(final WebDriver webDriver) throws
             IllegalStateException {
         this.driver = webDriver;
-        PageObjectUtils.waitPageLoad(driver, PAGE_URL);
-        PageFactory.initElements(driver, this);
+        PageObjectUtils.expectPage(driver, PAGE_URL);
+    }
+
+    /**
+     * Context page elements are located in.
+     *
+     * @return browser driver
+     */
+    SearchContext getSearchContext() {
+        return driver;
     }
 
     /**
@@ -205,8 +242,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage clickMobilePhase() {
-        Waiters.waitUntilElementIsVisible(driver, mobilePhaseFromDirectory);
-        Waiters.waitUntilElementIsClickable(driver, mobilePhaseFromDirectory);
+        Waiters.waitUntilElementIsActionable(driver, mobilePhaseFromDirectory);
         mobilePhaseFromDirectory.click();
         return this;
     }
@@ -219,7 +255,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage inputCustomPhase(final String phaseName) {
-        Waiters.waitUntilElementIsVisible(driver, customPhaseInput);
+        Waiters.waitUntilElementIsActionable(driver, customPhaseInput);
         customPhaseInput.sendKeys(phaseName);
         return this;
     }
@@ -243,8 +279,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage addNewTaskOrFeature() {
-        Waiters.waitUntilElementIsVisible(driver, addNewTaskOrFeatureButton);
-        Waiters.waitUntilElementIsClickable(driver, addNewTaskOrFeatureButton);
+        Waiters.waitUntilElementIsActionable(driver, addNewTaskOrFeatureButton);
         addNewTaskOrFeatureButton.click();
         return this;
     }
@@ -256,8 +291,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage addNewTask() {
-        Waiters.waitUntilElementIsVisible(driver, addNewTaskButton);
-        Waiters.waitUntilElementIsClickable(driver, addNewTaskButton);
+        Waiters.waitUntilElementIsActionable(driver, addNewTaskButton);
         addNewTaskButton.click();
         return this;
     }
@@ -269,8 +303,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage addTask() {
-        Waiters.waitUntilElementIsVisible(driver, firstTaskInWindow);
-        Waiters.waitUntilElementIsClickable(driver, firstTaskInWindow);
+        Waiters.waitUntilElementIsActionable(driver, firstTaskInWindow);
         firstTaskInWindow.click();
         return this;
     }
@@ -283,9 +316,8 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage inputCustomTask(final String customTask) {
-        Waiters.waitUntilElementIsVisible(driver, customTaskInput);
-        Waiters.waitUntilElementIsClickable(driver, customTaskInput);
-        customTaskInput.sendKeys(customTask);
+        Waiters.waitUntilElementIsActionable(driver, customTaskInput);
+        FormFiller.fill(driver, customTaskInput, customTask);
         return this;
     }
 
@@ -296,8 +328,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage saveTask() {
-        Waiters.waitUntilElementIsVisible(driver, saveTaskButton);
-        Waiters.waitUntilElementIsClickable(driver, saveTaskButton);
+        Waiters.waitUntilElementIsActionable(driver, saveTaskButton);
         saveTaskButton.click();
         return this;
     }
@@ -309,8 +340,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage clickCommentaryButton() {
-        Waiters.waitUntilElementIsVisible(driver, commentaryButton);
-        Waiters.waitUntilElementIsClickable(driver, commentaryButton);
+        Waiters.waitUntilElementIsActionable(driver, commentaryButton);
         commentaryButton.click();
         return this;
     }
@@ -323,13 +353,30 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage inputCommentary(final String commentary) {
-        Waiters.waitUntilElementIsVisible(driver, commentaryInput);
-        Waiters.waitUntilElementIsClickable(driver, commentaryInput);
+        Waiters.waitUntilElementIsActionable(driver, commentaryInput);
         commentaryInput.click();
-        commentaryInput.sendKeys(commentary);
+        FormFiller.fill(driver, commentaryInput, commentary);
         return this;
     }
 
+    /**
+     * Reads phase tab names with single script call.
+     *
+     * @return phase names in page order
+     */
+    public List<String> getPhases() {
+        return PageSnapshot.take(driver).getPhases();
+    }
+
+    /**
+     * Reads task rows of the open phase with single script call.
+     *
+     * @return task rows in page order
+     */
+    public List<PageSnapshot.Task> getTasks() {
+        return PageSnapshot.take(driver).getTasks();
+    }
+
     /**
      * Input hours in field From.
      *
@@ -338,8 +385,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage inputFieldFrom(final String hours) {
-        Waiters.waitUntilElementIsVisible(driver, fieldFromInput);
-        Waiters.waitUntilElementIsClickable(driver, fieldFromInput);
+        Waiters.waitUntilElementIsActionable(driver, fieldFromInput);
         fieldFromInput.clear();
         fieldFromInput.sendKeys(hours);
         return this;
@@ -353,8 +399,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage inputFieldTo(final String hours) {
-        Waiters.waitUntilElementIsVisible(driver, fieldToInput);
-        Waiters.waitUntilElementIsClickable(driver, fieldToInput);
+        Waiters.waitUntilElementIsActionable(driver, fieldToInput);
         fieldToInput.clear();
         fieldToInput.sendKeys(hours);
         return this;
@@ -367,8 +412,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage editPhase() {
-        Waiters.waitUntilElementIsVisible(driver, editPhaseButton);
-        Waiters.waitUntilElementIsClickable(driver, editPhaseButton);
+        Waiters.waitUntilElementIsActionable(driver, editPhaseButton);
         editPhaseButton.click();
         return this;
     }
@@ -380,8 +424,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage deletePhase() {
-        Waiters.waitUntilElementIsVisible(driver, deletePhaseButton);
-        Waiters.waitUntilElementIsClickable(driver, deletePhaseButton);
+        Waiters.waitUntilElementIsActionable(driver, deletePhaseButton);
         deletePhaseButton.click();
         return this;
     }
@@ -393,8 +436,7 @@ public class EditGradePage {
      */
     @Step
     public EditGradePage confirmDelete() {
-        Waiters.waitUntilElementIsVisible(driver, confirmDeletePhaseButton);
-        Waiters.waitUntilElementIsClickable(driver, confirmDeletePhaseButton);
+        Waiters.waitUntilElementIsActionable(driver, confirmDeletePhaseButton);
         confirmDeletePhaseButton.click();
         return this;
     }
@@ -1,13 +1,13 @@
 package pages;
 
+import helpers.EstimatesIndex;
 import helpers.PageObjectUtils;
 import helpers.Waiters;
 import io.qameta.allure.Step;
-import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 
 /**
@@ -20,6 +20,16 @@ public class EstimatesPage {
      */
     private WebDriver driver;
 
+    /**
+     * Estimate rows by client name.
+     */
+    private EstimatesIndex estimates;
+
+    /**
+     * Row of estimate chosen for deletion, null when none.
+     */
+    private WebElement deletedRow;
+
     /**
      * Page Url.
      */
@@ -38,28 +48,33 @@ public class EstimatesPage {
      * Create new client button.
      */
     @FindBy(css = "button[ng-click='vm.openFab($event)']")
-    private WebElement addNewClientButton;
+    private final WebElement addNewClientButton =
+            EstimatesPageElements.addNewClientButton(this);
 
     /**
      * Window with client language choose.
      */
     @FindBy(css = "div[ng-if='vm.isOpen']")
-    private WebElement clientLanguageWindow;
+    private final WebElement clientLanguageWindow =
+            EstimatesPageElements.clientLanguageWindow(this);
 
     /**
      * Choose russian client element.
      */
     @FindBy(css = "div[ng-click=\"vm.newEstimate($event, 'ru')\"] ")
-    private WebElement chooseRu;
+    private final WebElement chooseRu =
+            EstimatesPageElements.chooseRu(this);
 
     /**
      * Ok button in delete window.
      */
     @FindBy(xpath = "//span[contains(text(), 'ОК')]/parent::*")
-    private WebElement cunfirmDeleteButton;
+    private final WebElement cunfirmDeleteButton =
+            EstimatesPageElements.cunfirmDeleteButton(this);
 
     /**
-     * Page object constructor. Checks that page is open when created.
+     * Page object constructor. Checks that page is open before first
+     * interaction with it.
      *
      * @param webDriver browser driver
      * @throws IllegalStateException if page is not open now
@@ -67,8 +82,17 @@ public class EstimatesPage {
     public EstimatesPage(final WebDriver webDriver) throws
             IllegalStateException {
         this.driver = webDriver;
-        PageObjectUtils.waitPageLoad(driver, PAGE_URL);
-        PageFactory.initElements(driver, this);
+        this.estimates = new EstimatesIndex(driver);
+        PageObjectUtils.expectPage(driver, PAGE_URL);
+    }
+
+    /**
+     * Context page elements are located in.
+     *
+     * @return browser driver
+     */
+    SearchContext getSearchContext() {
+        return driver;
     }
 
     /**
@@ -89,14 +113,23 @@ public class EstimatesPage {
      * @return this
      */
     public final EstimatesPage openClientProject(final String clientName) {
-        WebElement clientProject = driver.findElement(By.xpath(
-                "//a[.//div//strong[contains(text(),'" + clientName + "')]]"));
-        Waiters.waitUntilElementIsVisible(driver, clientProject);
-        Waiters.waitUntilElementIsClickable(driver, clientProject);
-        clientProject.click();
+        estimates.onRow(clientName, row -> {
+            Waiters.waitUntilElementIsActionable(driver, row.getElement());
+            row.getElement().click();
+        });
         return this;
     }
 
+    /**
+     * Checks estimates list shows client with exactly this name.
+     *
+     * @param clientName client name
+     * @return is client shown
+     */
+    public final boolean hasClient(final String clientName) {
+        return estimates.contains(clientName);
+    }
+
     /**
      * Delete client from client's table by his name.
      *
@@ -140,24 +173,28 @@ public class EstimatesPage {
      */
     @Step
     public final EstimatesPage deleteClient(final String clientName) {
-        WebElement deleteButton = driver.findElement(By.xpath(
-                "//a[.//div//strong[contains(text(),'"
-                        + clientName + "')]]/descendant::"
-                        + "button[@aria-label='Удалить оценку']"));
-        deleteButton.click();
-            Waiters.waitUntilElementIsVisible(driver, deleteButton);
-            Waiters.waitUntilElementIsClickable(driver, cunfirmDeleteButton);
+        estimates.onRow(clientName, row -> {
+            row.getDeleteButton().click();
+            deletedRow = row.getElement();
+        });
+        Waiters.waitUntilElementIsActionable(driver, cunfirmDeleteButton);
         return this;
     }
 
     /**
-     * Press OK button in confirm delete window and wait while it closes.
+     * Press OK button in confirm delete window and wait while deleted
+     * estimate row leaves the list.
      * @return this
      */
     @Step
     public final EstimatesPage confirmDelete() {
-        Waiters.waitUntilElementIsClickable(driver, cunfirmDeleteButton);
+        Waiters.waitUntilElementIsActionable(driver, cunfirmDeleteButton);
         cunfirmDeleteButton.click();
+        if (deletedRow != null) {
+            Waiters.waitUntilElementIsGone(driver, deletedRow);
+            deletedRow = null;
+        }
+        estimates.invalidate();
         return this;
     }
 }
@@ -3,10 +3,10 @@ package pages;
 import helpers.PageObjectUtils;
 import helpers.Waiters;
 import io.qameta.allure.Step;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 /**
  * Authorization page object.
@@ -36,44 +36,50 @@ public class LoginPage {
      * Login input element.
      */
     @FindBy(css = "input[ng-model='vm.login']")
-    private WebElement loginInput;
+    private final WebElement loginInput =
+            LoginPageElements.loginInput(this);
 
     /**
      * Password input element.
      */
     @FindBy(css = "input[ng-model='vm.password']")
-    private WebElement passwordInput;
+    private final WebElement passwordInput =
+            LoginPageElements.passwordInput(this);
 
     /**
      * Login submit button.
      */
     @FindBy(css = "button[ng-click='vm.log()']")
-    private WebElement loginButton;
+    private final WebElement loginButton =
+            LoginPageElements.loginButton(this);
 
     /**
      * Locator for pressed login button.
      */
-    @FindBy(css = "div[class='md-ripple-container")
-    private static WebElement loginButtonIsPressed;
+    @FindBy(css = "div[class='md-ripple-container']")
+    private final WebElement loginButtonIsPressed =
+            LoginPageElements.loginButtonIsPressed(this);
 
     /**
      * Locator for not empty login button.
      */
     @FindBy(css = "md-input-container[class='md-input-has-value']")
-    private static WebElement loginInputContainsValue;
+    private final WebElement loginInputContainsValue =
+            LoginPageElements.loginInputContainsValue(this);
 
     /**
      * Locator for Error message.
      */
     @FindBy(css = "div[class='error-msg ng-binding']")
-    private static WebElement errorMsg;
+    private final WebElement errorMsg =
+            LoginPageElements.errorMsg(this);
 
     /**
      * Getter for Web element loginButtonIsPressed.
      *
      * @return loginButtonIsPressed
      */
-    public static WebElement getLoginButtonIsPressed() {
+    public WebElement getLoginButtonIsPressed() {
         return loginButtonIsPressed;
     }
 
@@ -82,7 +88,7 @@ public class LoginPage {
      *
      * @return loginInputContainsValue
      */
-    public static WebElement getLoginInputContainsValue() {
+    public WebElement getLoginInputContainsValue() {
         return loginInputContainsValue;
     }
 
@@ -91,20 +97,29 @@ public class LoginPage {
      *
      * @return errorMsg
      */
-    public static WebElement getErrorMsg() {
+    public WebElement getErrorMsg() {
         return errorMsg;
     }
 
     /**
-     * Page object constructor. Checks that page is open when created.
+     * Page object constructor. Checks that page is open before first
+     * interaction with it.
      *
      * @param webDriver browser driver
      * @throws IllegalStateException if page is not open now
      */
     public LoginPage(final WebDriver webDriver) throws IllegalStateException {
         this.driver = webDriver;
-        PageObjectUtils.waitPageLoad(driver, PAGE_URL);
-        PageFactory.initElements(webDriver, this);
+        PageObjectUtils.expectPage(driver, PAGE_URL);
+    }
+
+    /**
+     * Context page elements are located in.
+     *
+     * @return browser driver
+     */
+    SearchContext getSearchContext() {
+        return driver;
     }
 
     /**
@@ -127,7 +142,7 @@ public class LoginPage {
     @Step("Авторизация на сайте")
     public final EstimatesPage login(final String login,
                                      final String password) {
-        Waiters.waitUntilAngularReady(driver);
+        Waiters.waitUntilDomStable(driver);
         sendLogin(login);
         sendPassword(password);
         loginButtonClick();
@@ -142,7 +157,7 @@ public class LoginPage {
      */
     @Step("Ввод логина")
     public final LoginPage sendLogin(final String login) {
-        Waiters.waitUntilElementIsVisible(driver, loginInput);
+        Waiters.waitUntilElementIsActionable(driver, loginInput);
         loginInput.sendKeys(login);
         return this;
     }
@@ -166,7 +181,7 @@ public class LoginPage {
      */
     @Step("Ввод пароля")
     public final LoginPage sendPassword(final String password) {
-        Waiters.waitUntilElementIsVisible(driver, passwordInput);
+        Waiters.waitUntilElementIsActionable(driver, passwordInput);
         passwordInput.sendKeys(password);
         return this;
     }
@@ -189,8 +204,7 @@ public class LoginPage {
      */
     @Step("Нажатие на кнопку входа")
     public final LoginPage loginButtonClick() {
-        Waiters.waitUntilElementIsVisible(driver, loginButton);
-        Waiters.waitUntilElementIsClickable(driver, loginButton);
+        Waiters.waitUntilElementIsActionable(driver, loginButton);
         loginButton.click();
         return this;
     }
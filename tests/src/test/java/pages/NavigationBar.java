@@ -2,10 +2,10 @@ package pages;
 
 import helpers.Waiters;
 import io.qameta.allure.Step;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 public class NavigationBar {
 
@@ -18,25 +18,29 @@ public class NavigationBar {
      * Navigation bar button.
      */
     @FindBy(css = "button[id='toggle-side-nav-button']")
-    private WebElement navigationBarButton;
+    private final WebElement navigationBarButton =
+            NavigationBarElements.navigationBarButton(this);
 
     /**
      * Logout button in navbar.
      */
     @FindBy(css = "a[id='logout-button'] md-icon")
-    private WebElement logoutButton;
+    private final WebElement logoutButton =
+            NavigationBarElements.logoutButton(this);
 
     /**
      * Estimates button in navigation bar.
      */
     @FindBy(css = "a[ui-sref='index.estimates']")
-    private WebElement estimatesPageButton;
+    private final WebElement estimatesPageButton =
+            NavigationBarElements.estimatesPageButton(this);
 
     /**
      * Navigation bar selector.
      */
     @FindBy(css = "md-sidenav[ng-init=\"vm.initSideNav('left')\"]")
-    private WebElement navigationBarBody;
+    private final WebElement navigationBarBody =
+            NavigationBarElements.navigationBarBody(this);
 
 
     /**
@@ -46,7 +50,15 @@ public class NavigationBar {
      */
     public NavigationBar(final WebDriver webDriver) {
         this.driver = webDriver;
-        PageFactory.initElements(driver, this);
+    }
+
+    /**
+     * Context page elements are located in.
+     *
+     * @return browser driver
+     */
+    SearchContext getSearchContext() {
+        return driver;
     }
 
     /**
@@ -77,7 +89,7 @@ public class NavigationBar {
      */
     @Step("Переход на страницу оценок через навигационную панель")
     public final NavigationBar openEstimatesPage() {
-        Waiters.waitUntilElementIsVisible(driver, estimatesPageButton);
+        Waiters.waitUntilElementIsActionable(driver, estimatesPageButton);
         estimatesPageButton.click();
         return this;
     }
@@ -88,8 +100,7 @@ public class NavigationBar {
      */
     @Step ("Выход из аккаунта")
     public final NavigationBar logout() {
-        Waiters.waitUntilElementIsVisible(driver, logoutButton);
-        Waiters.waitUntilElementIsClickable(driver, logoutButton);
+        Waiters.waitUntilElementIsActionable(driver, logoutButton);
         logoutButton.click();
         return this;
     }
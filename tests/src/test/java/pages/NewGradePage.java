@@ -1,13 +1,16 @@
 package pages;
 
+import helpers.FormFiller;
 import helpers.PageObjectUtils;
 import helpers.Waiters;
 import io.qameta.allure.Step;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+
+import java.util.Map;
 
 public class NewGradePage {
 
@@ -34,60 +37,70 @@ public class NewGradePage {
      * Client name input element.
      */
     @FindBy(css = "textarea[name='customer']")
-    private WebElement clientNameInput;
+    private final WebElement clientNameInput =
+            NewGradePageElements.clientNameInput(this);
 
     /**
      * Project name input element.
      */
     @FindBy(css = "textarea[ng-model='vm.project.name']")
-    private WebElement projectNameInput;
+    private final WebElement projectNameInput =
+            NewGradePageElements.projectNameInput(this);
 
     /**
      * Experts input element.
      */
     @FindBy(xpath = "//label[contains(text(), 'Эксперты')]"
             + "/following-sibling::md-contact-chips//input")
-    private WebElement expertsInput;
+    private final WebElement expertsInput =
+            NewGradePageElements.expertsInput(this);
 
     /**
      * CRM input element.
      */
     @FindBy(css = "textarea[name='linkToCRM']")
-    private WebElement crmLinkInput;
+    private final WebElement crmLinkInput =
+            NewGradePageElements.crmLinkInput(this);
 
     /**
      * Description input element.
      */
     @FindBy(css = "textarea[name='description']")
-    private WebElement descriptionInput;
+    private final WebElement descriptionInput =
+            NewGradePageElements.descriptionInput(this);
 
     /**
      * Checkbox for QA department.
      */
     @FindBy(css = "md-checkbox[aria-label='*Направление QA']")
-    private WebElement qaDepartmentCheckBox;
+    private final WebElement qaDepartmentCheckBox =
+            NewGradePageElements.qaDepartmentCheckBox(this);
 
     /**
      * Save form button element.
      */
     @FindBy(css = "button[ng-click='vm.editAbout($event)']")
-    private WebElement saveAndAddPhaseButton;
+    private final WebElement saveAndAddPhaseButton =
+            NewGradePageElements.saveAndAddPhaseButton(this);
 
     /**
      * Phase window element.
      */
     @FindBy(css = "md-dialog[class='phaseModal md-transition-in']")
-    private WebElement phaseWindow;
+    private final WebElement phaseWindow =
+            NewGradePageElements.phaseWindow(this);
 
     /**
      * Close phase window element.
      */
     @FindBy(css = "md-icon[ng-click='vm.closeModal()']")
-    private WebElement closePhaseWindowButton;
+    private final WebElement closePhaseWindowButton =
+            NewGradePageElements.closePhaseWindowButton(this);
 
 
     /**
-     * Page object constructor. Checks that page is open when created.
+     * Page object constructor. Checks that page is open before first
+     * interaction with it.
      *
      * @param webDriver browser driver
      * @throws IllegalStateException if page is not open now
@@ -95,12 +108,21 @@ public class NewGradePage {
     public NewGradePage(final WebDriver webDriver)
             throws IllegalStateException {
         this.driver = webDriver;
-        PageObjectUtils.waitPageLoad(driver, PAGE_URL);
-        PageFactory.initElements(driver, this);
+        PageObjectUtils.expectPage(driver, PAGE_URL);
+    }
+
+    /**
+     * Context page elements are located in.
+     *
+     * @return browser driver
+     */
+    SearchContext getSearchContext() {
+        return driver;
     }
 
     /**
-     * Method to create and save new client.
+     * Method to create and save new client. Text fields are filled with
+     * single script call when fast form fill is enabled.
      *
      * @param clientName  client name
      * @param projectName project name
@@ -114,10 +136,20 @@ public class NewGradePage {
                                                   final String description,
                                                   final String expertName,
                                                   final String crmLink) {
-        inputClientName(clientName);
-        inputProjectName(projectName);
-        inputCrmLink(crmLink);
-        inputDescription(description);
+        if (FormFiller.isFast()) {
+            Waiters.waitUntilElementIsActionable(driver, clientNameInput);
+            Map<WebElement, String> values =
+                    FormFiller.values(clientNameInput, clientName);
+            values.put(projectNameInput, projectName);
+            values.put(crmLinkInput, crmLink);
+            values.put(descriptionInput, description);
+            FormFiller.fill(driver, values);
+        } else {
+            inputClientName(clientName);
+            inputProjectName(projectName);
+            inputCrmLink(crmLink);
+            inputDescription(description);
+        }
         inputExpert(expertName);
         chooseQaDepartment();
         saveClient();
@@ -134,7 +166,7 @@ public class NewGradePage {
      */
     @Step("Ввод имени клиента")
     public final NewGradePage inputClientName(final String clientName) {
-        Waiters.waitUntilElementIsVisible(driver, clientNameInput);
+        Waiters.waitUntilElementIsActionable(driver, clientNameInput);
         clientNameInput.sendKeys(clientName);
         return this;
     }
@@ -205,8 +237,7 @@ public class NewGradePage {
      */
     @Step("Сохранение клиента")
     public final NewGradePage saveClient() {
-        Waiters.waitUntilElementIsVisible(driver, saveAndAddPhaseButton);
-        Waiters.waitUntilElementIsClickable(driver, saveAndAddPhaseButton);
+        Waiters.waitUntilElementIsActionable(driver, saveAndAddPhaseButton);
         saveAndAddPhaseButton.click();
         return this;
     }
@@ -218,8 +249,7 @@ public class NewGradePage {
      */
     @Step("Закрытие окна добавления фазы")
     public final NewGradePage closePhaseWindow() {
-        Waiters.waitUntilElementIsVisible(driver, phaseWindow);
-        Waiters.waitUntilElementIsClickable(driver, closePhaseWindowButton);
+        Waiters.waitUntilElementIsActionable(driver, closePhaseWindowButton);
         closePhaseWindowButton.click();
         return this;
     }
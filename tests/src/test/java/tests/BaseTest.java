@@ -1,48 +1,126 @@
 package tests;
 
+import helpers.AngularSync;
+import helpers.AuthCache;
+import helpers.CleanupRegistry;
 import helpers.DriverFactory;
+import helpers.EstimateApi;
+import helpers.FixturePool;
+import helpers.PageState;
 import helpers.ParametersProvider;
+import helpers.SessionMetrics;
+import helpers.SessionPrefetcher;
+import helpers.SessionReset;
+import helpers.WaitMetrics;
 import org.openqa.selenium.WebDriver;
-import org.testng.annotations.AfterClass;
-import org.testng.annotations.BeforeClass;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 
 
 import java.io.IOException;
+import java.util.Arrays;
 
 
 public class BaseTest {
 
     /**
-     * WebDriver.
+     * Test result attribute holding WebDriver of the invocation.
      */
-    private WebDriver driver;
+    public static final String DRIVER_ATTRIBUTE = "webDriver";
 
     /**
-     * SetUp WebDriver.
+     * WebDriver of the test invocation running in current thread.
+     */
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
+    /**
+     * Deletes test data left by earlier runs when API seeding is enabled.
+     * @throws IOException when config file not available
+     */
+    @BeforeSuite(alwaysRun = true)
+    public final void sweepStaleData() throws IOException {
+        if (!EstimateApi.isConfigured()) {
+            return;
+        }
+        CleanupRegistry.sweep(EstimateApi.login(AuthCache.Role.ADMIN),
+                Arrays.asList(
+                        ParametersProvider.getProperty("clientName"),
+                        ParametersProvider.getProperty("clientName2")));
+    }
+
+    /**
+     * SetUp WebDriver for test invocation. Session left on clean login
+     * page by soft reset is not navigated again. Page state of the test
+     * driver is tracked, driver synchronizes with Angular when
+     * "angularAutoSync" is enabled.
      * Change .getProperty("webUrl")
      * on.getProperty("remoteWebUrl") when using selenoid
+     * @param context test context
+     * @param result result of the test invocation
      * @throws IOException when config file not available
      */
-    @BeforeClass
-    public final void setEnvironment() throws IOException {
-        this.driver = DriverFactory.createDriver();
+    @BeforeMethod(alwaysRun = true)
+    public final void setEnvironment(final ITestContext context,
+                                     final ITestResult result)
+            throws IOException {
+        WebDriver webDriver = DriverFactory.acquireDriver();
+        WebDriver testDriver = AngularSync.wrap(PageState.track(webDriver));
+        driver.set(testDriver);
+        result.setAttribute(DRIVER_ATTRIBUTE, testDriver);
+        SessionPrefetcher.onSessionStart(context);
+        if (SessionReset.takeClean(webDriver)) {
+            return;
+        }
         String webUrl = ParametersProvider.getProperty("webUrl");
-        driver.get(webUrl);
+        long startTime = System.currentTimeMillis();
+        testDriver.get(webUrl);
+        SessionMetrics.record(webDriver, SessionMetrics.FIRST_NAVIGATION,
+                System.currentTimeMillis() - startTime);
     }
 
     /**
      * WebDriver getter.
-     * @return driver
+     * @return driver of the test invocation running in current thread
      */
     public WebDriver getDriver() {
-        return driver;
+        return driver.get();
     }
 
     /**
-     * Suite tear down.
+     * Test invocation tear down. Returns driver to session pool.
      */
-    @AfterClass
+    @AfterMethod(alwaysRun = true)
     public final void tearDown() {
-        driver.quit();
+        WebDriver webDriver = driver.get();
+        if (webDriver != null) {
+            driver.remove();
+            PageState.untrack(webDriver);
+            AngularSync.untrack(webDriver);
+            DriverFactory.releaseDriver(AngularSync.unwrap(webDriver));
+        }
+    }
+
+    /**
+     * Stops fixture pool and deletes test data registered by tests.
+     */
+    @AfterSuite(alwaysRun = true)
+    public final void cleanUpData() {
+        FixturePool.shutdown();
+        CleanupRegistry.flush();
+    }
+
+    /**
+     * Quits pooled sessions and writes browser session and wait metrics
+     * of the run, after test data is cleaned up.
+     */
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "cleanUpData")
+    public final void writeSessionMetrics() {
+        DriverFactory.shutdownPool();
+        SessionMetrics.writeSummary();
+        WaitMetrics.writeReport();
     }
 }
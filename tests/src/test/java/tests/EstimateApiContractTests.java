@@ -0,0 +1,136 @@
+package tests;
+
+import helpers.AuthCache;
+import helpers.EstimateApi;
+import helpers.ParametersProvider;
+import helpers.TestData;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.HttpURLConnection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Checks test data API client against EstimateMe backend of the
+ * environment. API seeding relies on this contract, so "apiUrl" should be
+ * set only for environments where these tests pass.
+ */
+public class EstimateApiContractTests extends BaseTest {
+
+    /**
+     * Skip contract tests when API is not configured.
+     */
+    @BeforeClass
+    public final void checkApiConfigured() {
+        if (!EstimateApi.isConfigured()) {
+            throw new SkipException("apiUrl не задан, контракт API"
+                    + " не проверяется");
+        }
+    }
+
+    /**
+     * Created estimate is listed with its names and deleted.
+     */
+    @Epic(value = "Тестовые данные")
+    @Severity(SeverityLevel.CRITICAL)
+    @Test(description = "Контракт API: создание и удаление оценки")
+    public final void createAndDeleteEstimate() {
+        AuthCache.login(getDriver(), AuthCache.Role.ADMIN);
+        EstimateApi api = EstimateApi.forSession(getDriver());
+        String clientName = TestData.unique("clientName");
+        String projectName = ParametersProvider.getProperty("projectName");
+        String id = createEstimate(api, clientName, projectName);
+        try {
+            Assert.assertTrue(api.listEstimates().stream().anyMatch(
+                    estimate -> estimate.getId().equals(id)
+                            && estimate.getClientName().equals(clientName)
+                            && estimate.getProjectName()
+                            .equals(projectName)),
+                    "Созданная через API оценка не найдена в списке");
+        } finally {
+            api.deleteEstimate(id);
+        }
+
+        Assert.assertTrue(api.listEstimates().stream().noneMatch(
+                estimate -> estimate.getId().equals(id)),
+                "Удаленная через API оценка найдена в списке");
+    }
+
+    /**
+     * Phase and task are added to estimate and deleted with it.
+     */
+    @Epic(value = "Тестовые данные")
+    @Severity(SeverityLevel.CRITICAL)
+    @Test(description = "Контракт API: фаза и задача оценки")
+    public final void addPhaseAndTask() {
+        AuthCache.login(getDriver(), AuthCache.Role.ADMIN);
+        EstimateApi api = EstimateApi.forSession(getDriver());
+        String phaseName = ParametersProvider.getProperty("directoryPhase");
+        String taskName = ParametersProvider.getProperty("customTask");
+        String id = createEstimate(api, TestData.unique("clientName"),
+                ParametersProvider.getProperty("projectName"));
+        String phaseId;
+        try {
+            phaseId = api.addPhase(id, phaseName);
+            String taskId = api.addTask(phaseId, taskName, 4, 9);
+            Assert.assertTrue(api.listPhases(id).stream().anyMatch(
+                    phase -> phase.getId().equals(phaseId)
+                            && phase.getName().equals(phaseName)),
+                    "Добавленная через API фаза не найдена в оценке");
+            Assert.assertTrue(api.listTasks(phaseId).stream().anyMatch(
+                    task -> task.getId().equals(taskId)
+                            && task.getName().equals(taskName)),
+                    "Добавленная через API задача не найдена в фазе");
+        } finally {
+            api.deleteEstimate(id);
+        }
+
+        Assert.assertTrue(listDeleted(() -> api.listPhases(id)).isEmpty(),
+                "Фазы удаленной через API оценки найдены");
+        Assert.assertTrue(listDeleted(() -> api.listTasks(phaseId))
+                .isEmpty(), "Задачи удаленной через API оценки найдены");
+    }
+
+    /**
+     * Lists items of deleted parent, backend answers with empty list or
+     * not found.
+     *
+     * @param list list request
+     * @return listed items, empty when parent is not found
+     */
+    private static List<EstimateApi.Item> listDeleted(
+            final Supplier<List<EstimateApi.Item>> list) {
+        try {
+            return list.get();
+        } catch (EstimateApi.ApiException e) {
+            if (e.getStatus() != HttpURLConnection.HTTP_NOT_FOUND) {
+                throw e;
+            }
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Creates estimate with configured description, expert and CRM link.
+     *
+     * @param api API client
+     * @param clientName client name
+     * @param projectName project name
+     * @return estimate id
+     */
+    private static String createEstimate(final EstimateApi api,
+                                         final String clientName,
+                                         final String projectName) {
+        return api.createEstimate(clientName, projectName,
+                ParametersProvider.getProperty("description"),
+                ParametersProvider.getProperty("expert"),
+                ParametersProvider.getProperty("crmLink"));
+    }
+}
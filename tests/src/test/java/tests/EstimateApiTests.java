@@ -0,0 +1,140 @@
+package tests;
+
+import helpers.EstimateApi;
+import helpers.EstimateApiStub;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Test suite for test data seeding API client, runs against local stub.
+ * Stub behaviour follows the client, so responses of real backend saved
+ * by EstimateApiContractTests with "apiRecordDir" are checked too.
+ */
+public class EstimateApiTests {
+
+    /**
+     * Responses saved from real backend.
+     */
+    private static final Path RECORDED = Paths.get("src", "test",
+            "resources", "api-contract");
+
+    /**
+     * Local EstimateMe API stub.
+     */
+    private EstimateApiStub stub;
+
+    /**
+     * API client.
+     */
+    private EstimateApi api;
+
+    /**
+     * Start API stub of the test.
+     * @throws IOException when stub can not be started
+     */
+    @BeforeMethod
+    public final void startStub() throws IOException {
+        stub = new EstimateApiStub();
+        api = new EstimateApi(stub.getApiUrl(), "");
+    }
+
+    /**
+     * Estimate is created and listed.
+     */
+    @Epic(value = "Тестовые данные")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(description = "Создание оценки через API")
+    public final void createEstimate() {
+        String id = api.createEstimate("Пётр Иванов", "Банк ИнвестКредит",
+                "Описание", "Пётр Петров", "link");
+
+        Assert.assertTrue(api.listEstimates().stream().anyMatch(estimate ->
+                estimate.getId().equals(id)
+                        && estimate.getClientName().equals("Пётр Иванов")
+                        && estimate.getProjectName()
+                        .equals("Банк ИнвестКредит")),
+                "Созданная оценка не найдена");
+        api.deleteEstimate(id);
+    }
+
+    /**
+     * Estimate is deleted with its phases and tasks.
+     */
+    @Epic(value = "Тестовые данные")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(description = "Удаление оценки с фазами и задачами через API")
+    public final void deleteEstimateWithPhases() {
+        String id = api.createEstimate("Иван Петров", "Пиццерия",
+                "Описание", "Иван Иванов", "ссылка");
+        String phaseId = api.addPhase(id, "Мобильное приложение");
+        String taskId = api.addTask(phaseId, "Анализ требований", 4, 9);
+        Assert.assertTrue(api.listTasks(phaseId).stream().anyMatch(task ->
+                task.getId().equals(taskId)), "Задача не добавлена");
+        api.deleteEstimate(id);
+
+        Assert.assertTrue(api.listEstimates().stream().noneMatch(estimate ->
+                estimate.getId().equals(id)), "Оценка не удалена");
+        Assert.assertEquals(Assert.expectThrows(
+                EstimateApi.ApiException.class,
+                () -> api.listPhases(id)).getStatus(),
+                HttpURLConnection.HTTP_NOT_FOUND, "Фазы не удалены");
+        Assert.assertEquals(Assert.expectThrows(
+                EstimateApi.ApiException.class,
+                () -> api.listTasks(phaseId)).getStatus(),
+                HttpURLConnection.HTTP_NOT_FOUND, "Фаза не удалена");
+    }
+
+    /**
+     * Client reads responses saved from real backend.
+     * @throws IOException when replaying stub can not be started
+     */
+    @Epic(value = "Тестовые данные")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(description = "Чтение записанных ответов API")
+    public final void readRecordedResponses() throws IOException {
+        if (!Files.isRegularFile(RECORDED.resolve("GET_estimates.json"))
+                || !Files.isRegularFile(
+                RECORDED.resolve("POST_estimates.json"))) {
+            throw new SkipException("Нет записанных ответов API в "
+                    + RECORDED);
+        }
+        EstimateApiStub replay = new EstimateApiStub(RECORDED);
+        try {
+            EstimateApi recorded = new EstimateApi(replay.getApiUrl(), "");
+            Assert.assertFalse(recorded.createEstimate("Пётр Иванов",
+                    "Банк ИнвестКредит", "Описание", "Пётр Петров", "link")
+                    .isEmpty(), "Нет id созданной оценки");
+            List<EstimateApi.Estimate> estimates = recorded.listEstimates();
+            Assert.assertFalse(estimates.isEmpty(), "Список оценок пуст");
+            for (EstimateApi.Estimate estimate : estimates) {
+                Assert.assertFalse(estimate.getId().isEmpty(),
+                        "Нет id оценки");
+                Assert.assertFalse(estimate.getClientName().isEmpty(),
+                        "Нет имени клиента оценки " + estimate.getId());
+            }
+        } finally {
+            replay.stop();
+        }
+    }
+
+    /**
+     * Stop API stub of the test.
+     */
+    @AfterMethod(alwaysRun = true)
+    public final void stopStub() {
+        stub.stop();
+    }
+}
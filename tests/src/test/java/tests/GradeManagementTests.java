@@ -1,17 +1,19 @@
 package tests;
 
+import helpers.AuthCache;
 import helpers.PageObjectUtils;
+import helpers.PageSnapshot;
 import helpers.ParametersProvider;
+import helpers.Routes;
+import helpers.TestData;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import org.testng.Assert;
-import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import pages.EstimatesPage;
-import pages.LoginPage;
 import pages.NavigationBar;
 import pages.NewGradePage;
 
@@ -27,14 +29,14 @@ public class GradeManagementTests extends BaseTest {
     public Object[][] clientData() {
         return new Object[][]{
                 {
-                        ParametersProvider.getProperty("clientName"),
+                        TestData.unique("clientName"),
                         ParametersProvider.getProperty("projectName"),
                         ParametersProvider.getProperty("description"),
                         ParametersProvider.getProperty("expert"),
                         ParametersProvider.getProperty("crmLink")
                 },
                 {
-                        ParametersProvider.getProperty("clientName2"),
+                        TestData.unique("clientName2"),
                         ParametersProvider.getProperty("projectName2"),
                         ParametersProvider.getProperty("description2"),
                         ParametersProvider.getProperty("expert2"),
@@ -48,10 +50,7 @@ public class GradeManagementTests extends BaseTest {
      */
     @BeforeMethod
     public final void loginAsAdmin() {
-        String adminLogin = ParametersProvider.getProperty("adminLogin");
-        String adminPassword = ParametersProvider.getProperty("adminPassword");
-        new LoginPage(getDriver())
-                .login(adminLogin, adminPassword);
+        AuthCache.login(getDriver(), AuthCache.Role.ADMIN);
     }
 
     /**
@@ -91,8 +90,8 @@ public class GradeManagementTests extends BaseTest {
                         EstimatesPage.getUrl()),
                 "Ошибка перехода на страницу "
                         + "/estimates из навигационной панели");
-        Assert.assertTrue(PageObjectUtils.checkPageContainText(getDriver(),
-                        clientName),
+        Assert.assertNotNull(PageSnapshot.take(getDriver())
+                        .findEstimate(clientName),
                 "Созданный клиент не найден на странице");
         new EstimatesPage(getDriver()).clientDelete(clientName);
     }
@@ -123,20 +122,11 @@ public class GradeManagementTests extends BaseTest {
                         description,
                         expert,
                         crmLink);
-        new NavigationBar(getDriver())
-                .openEstimatesFromNavBar();
-        new EstimatesPage(getDriver())
+        Routes.openEstimates(getDriver());
+        EstimatesPage estimatesPage = new EstimatesPage(getDriver())
                 .clientDelete(clientName);
 
-        Assert.assertFalse(PageObjectUtils.checkPageContainText(getDriver(), clientName));
-    }
-
-    /**
-     * Logout from account.
-     */
-    @AfterMethod
-    public final void logout() {
-        new NavigationBar(getDriver())
-                .logout();
+        Assert.assertFalse(estimatesPage.hasClient(clientName),
+                "Удаленный клиент найден на странице");
     }
 }
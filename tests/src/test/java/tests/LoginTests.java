@@ -26,7 +26,7 @@ public class LoginTests extends BaseTest {
      *
      * @return Login + pass object
      */
-    @DataProvider
+    @DataProvider(parallel = true)
     public Object[][] autData() {
         return new Object[][]{
                 {ParametersProvider.getProperty("adminLogin"),
@@ -83,14 +83,14 @@ public class LoginTests extends BaseTest {
                 ParametersProvider.getProperty("incorrectLogin");
         String incorrectPassword =
                 ParametersProvider.getProperty("incorrectPassword");
-        new LoginPage(getDriver())
+        LoginPage loginPage = new LoginPage(getDriver())
                 .sendLogin(incorrectLogin)
                 .sendPassword(incorrectPassword)
                 .loginButtonClick()
                 .waitErrorMsg();
 
         Assert.assertTrue(PageObjectUtils.checkPageContainElement(getDriver(),
-                        LoginPage.getErrorMsg()),
+                        loginPage.getErrorMsg()),
                 "Ошибка 'User not found'");
     }
 
@@ -116,11 +116,11 @@ public class LoginTests extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Test(description = "EST-4:Авторизация с пустыми логином и паролем")
     public final void checkEmptyLoginPassAuth() {
-        new LoginPage(getDriver())
+        LoginPage loginPage = new LoginPage(getDriver())
                 .loginButtonClick();
 
         Assert.assertTrue(PageObjectUtils.checkPageContainElement(getDriver(),
-                        LoginPage.getLoginButtonIsPressed()),
+                        loginPage.getLoginButtonIsPressed()),
                 "Кнопка Login не нажата");
     }
 
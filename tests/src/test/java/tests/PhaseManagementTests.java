@@ -1,7 +1,11 @@
 package tests;
 
-import helpers.PageObjectUtils;
+import helpers.AuthCache;
+import helpers.CleanupRegistry;
+import helpers.EstimateApi;
 import helpers.ParametersProvider;
+import helpers.Routes;
+import helpers.TestData;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -12,38 +16,50 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import pages.EditGradePage;
 import pages.EstimatesPage;
-import pages.LoginPage;
-import pages.NavigationBar;
 import pages.NewGradePage;
 
+import java.util.List;
+
 
 public class PhaseManagementTests extends BaseTest {
 
+    /**
+     * Id of estimate seeded through API by current thread.
+     */
+    private final ThreadLocal<String> estimateId = new ThreadLocal<>();
+
+    /**
+     * Unique client name of current thread test.
+     */
+    private final ThreadLocal<String> clientName = new ThreadLocal<>();
+
     /**
      * Login and create new client.
      */
     @BeforeMethod
     public final void loginAndCreateClient() {
-        String adminLogin = ParametersProvider.getProperty("adminLogin");
-        String adminPassword = ParametersProvider.getProperty("adminPassword");
-        String clientName = ParametersProvider.getProperty("clientName");
+        String name = TestData.unique("clientName");
+        clientName.set(name);
         String projectName = ParametersProvider.getProperty("projectName");
         String description = ParametersProvider.getProperty("description");
         String expert = ParametersProvider.getProperty("expert");
         String crmLink = ParametersProvider.getProperty("crmLink");
-        new LoginPage(getDriver())
-                .login(adminLogin, adminPassword);
+        AuthCache.login(getDriver(), AuthCache.Role.ADMIN);
+        if (EstimateApi.isConfigured()) {
+            seedClient(name, projectName, description, expert,
+                    crmLink);
+            return;
+        }
         new EstimatesPage(getDriver())
                 .createClient();
         new NewGradePage(getDriver())
                 .createAndSaveClient(
-                        clientName,
+                        name,
                         projectName,
                         description,
                         expert,
                         crmLink);
-        new NavigationBar(getDriver())
-                .openEstimatesFromNavBar();
+        Routes.openEstimates(getDriver());
     }
 
     /**
@@ -54,19 +70,18 @@ public class PhaseManagementTests extends BaseTest {
     @Severity(SeverityLevel.CRITICAL)
     @Test(description = "EST-7: Добавление фазы из справочника")
     public final void addPhaseFromDirectory() {
-        String clientName =
-                ParametersProvider.getProperty("clientName");
         String phaseFromDirectory =
                 ParametersProvider.getProperty("directoryPhase");
         new EstimatesPage(getDriver())
-                .openClientProject(clientName);
-        new EditGradePage(getDriver())
+                .openClientProject(clientName.get());
+        List<String> phases = new EditGradePage(getDriver())
                 .openAddPhaseWindow()
                 .clickMobilePhase()
-                .savePhase();
+                .savePhase()
+                .getPhases();
 
-        Assert.assertTrue(PageObjectUtils
-                .checkPageContainText(getDriver(), phaseFromDirectory));
+        Assert.assertTrue(phases.contains(phaseFromDirectory),
+                "Фаза " + phaseFromDirectory + " не найдена среди " + phases);
     }
 
     /**
@@ -77,30 +92,56 @@ public class PhaseManagementTests extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     @Test(description = "EST-8: Добавление кастомной фазы не из справочника")
     public final void addCustomPhase() {
-        String clientName = ParametersProvider.getProperty("clientName");
         String customPhase = ParametersProvider.getProperty("customPhase");
         new EstimatesPage(getDriver())
-                .openClientProject(clientName);
-        new EditGradePage(getDriver())
+                .openClientProject(clientName.get());
+        List<String> phases = new EditGradePage(getDriver())
                 .openAddPhaseWindow()
                 .inputCustomPhase(customPhase)
-                .savePhase();
+                .savePhase()
+                .getPhases();
+
+        Assert.assertTrue(phases.contains(customPhase),
+                "Фаза " + customPhase + " не найдена среди " + phases);
+    }
 
-        Assert.assertTrue(PageObjectUtils
-                .checkPageContainText(getDriver(), customPhase));
+    /**
+     * Create client through API and reload estimates list.
+     *
+     * @param client      client name
+     * @param projectName project name
+     * @param description project description
+     * @param expert      expert name
+     * @param crmLink     link to CRM
+     */
+    private void seedClient(final String client,
+                            final String projectName,
+                            final String description,
+                            final String expert,
+                            final String crmLink) {
+        estimateId.set(EstimateApi.forSession(getDriver())
+                .createEstimate(client, projectName, description,
+                        expert, crmLink));
+        getDriver().navigate().refresh();
     }
 
     /**
-     * Clear data after tests.
+     * Clear data after tests. Estimate seeded through API is deleted
+     * at suite end.
      */
     @AfterMethod
     public final void clearData() {
-        String clientName = ParametersProvider.getProperty("clientName");
-        new NavigationBar(getDriver())
-                .openEstimatesFromNavBar();
+        String id = estimateId.get();
+        if (id != null) {
+            estimateId.remove();
+            clientName.remove();
+            CleanupRegistry.register(EstimateApi.forSession(getDriver()), id);
+            return;
+        }
+        String name = clientName.get();
+        clientName.remove();
+        Routes.openEstimates(getDriver());
         new EstimatesPage(getDriver())
-                .clientDelete(clientName);
-        new NavigationBar(getDriver())
-                .logout();
+                .clientDelete(name);
     }
 }
@@ -1,7 +1,12 @@
 package tests;
 
-import helpers.PageObjectUtils;
+import helpers.AuthCache;
+import helpers.EstimateApi;
+import helpers.FixturePool;
+import helpers.PageSnapshot;
 import helpers.ParametersProvider;
+import helpers.Routes;
+import helpers.TestData;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -12,39 +17,51 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import pages.EditGradePage;
 import pages.EstimatesPage;
-import pages.LoginPage;
-import pages.NavigationBar;
 import pages.NewGradePage;
 
+import java.util.List;
+
 public class PhaseTaskManagementTests extends BaseTest {
 
+    /**
+     * Estimate taken from fixture pool by current thread.
+     */
+    private final ThreadLocal<FixturePool.Fixture> fixture =
+            new ThreadLocal<>();
+
+    /**
+     * Unique client name of current thread test.
+     */
+    private final ThreadLocal<String> clientName = new ThreadLocal<>();
+
     /**
      * Login in system as Administrator, create new client and create new phase.
      */
     @BeforeMethod
     public final void loginAndCreateClient() {
-        String adminLogin = ParametersProvider.getProperty("adminLogin");
-        String adminPassword = ParametersProvider.getProperty("adminPassword");
-        String clientName = ParametersProvider.getProperty("clientName");
+        AuthCache.login(getDriver(), AuthCache.Role.ADMIN);
+        if (EstimateApi.isConfigured()) {
+            openFixture();
+            return;
+        }
+        String name = TestData.unique("clientName");
+        clientName.set(name);
         String projectName = ParametersProvider.getProperty("projectName");
         String description = ParametersProvider.getProperty("description");
         String expert = ParametersProvider.getProperty("expert");
         String crmLink = ParametersProvider.getProperty("crmLink");
-        new LoginPage(getDriver())
-                .login(adminLogin, adminPassword);
         new EstimatesPage(getDriver())
                 .createClient();
         new NewGradePage(getDriver())
                 .createAndSaveClient(
-                        clientName,
+                        name,
                         projectName,
                         description,
                         expert,
                         crmLink);
-        new NavigationBar(getDriver())
-                .openEstimatesFromNavBar();
+        Routes.openEstimates(getDriver());
         new EstimatesPage(getDriver())
-                .openClientProject(clientName);
+                .openClientProject(name);
         new EditGradePage(getDriver())
                 .openAddPhaseWindow()
                 .clickMobilePhase()
@@ -107,12 +124,14 @@ public class PhaseTaskManagementTests extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     public final void addHoursInFieldFrom() {
         String hours = ParametersProvider.getProperty("hoursFrom");
-        new EditGradePage(getDriver())
+        List<PageSnapshot.Task> tasks = new EditGradePage(getDriver())
                 .createNewTask()
-                .inputFieldFrom(hours);
+                .inputFieldFrom(hours)
+                .getTasks();
 
-        Assert.assertTrue(PageObjectUtils
-                .checkPageContainText(getDriver(), hours));
+        Assert.assertFalse(tasks.isEmpty(), "Задача не найдена на странице");
+        Assert.assertEquals(tasks.get(0).getMinHours(), hours,
+                "Часы в поле 'ОТ' не сохранены");
     }
 
     /**
@@ -123,12 +142,14 @@ public class PhaseTaskManagementTests extends BaseTest {
     @Severity(SeverityLevel.NORMAL)
     public final void addHoursInFieldTo() {
         String hours = ParametersProvider.getProperty("hoursTo");
-        new EditGradePage(getDriver())
+        List<PageSnapshot.Task> tasks = new EditGradePage(getDriver())
                 .createNewTask()
-                .inputFieldTo(hours);
+                .inputFieldTo(hours)
+                .getTasks();
 
-        Assert.assertTrue(PageObjectUtils
-                .checkPageContainText(getDriver(), hours));
+        Assert.assertFalse(tasks.isEmpty(), "Задача не найдена на странице");
+        Assert.assertEquals(tasks.get(0).getMaxHours(), hours,
+                "Часы в поле 'ДО' не сохранены");
     }
 
     /**
@@ -146,16 +167,35 @@ public class PhaseTaskManagementTests extends BaseTest {
     }
 
     /**
-     * Clear data after tests.
+     * Take client with phase from directory from fixture pool and open it.
+     */
+    private void openFixture() {
+        FixturePool.Fixture ready = FixturePool.checkout(
+                EstimateApi.forSession(getDriver()));
+        fixture.set(ready);
+        clientName.set(ready.getClientName());
+        Routes.openEstimates(getDriver());
+        new EstimatesPage(getDriver())
+                .openClientProject(ready.getClientName());
+    }
+
+    /**
+     * Clear data after tests. Estimate from fixture pool is deleted
+     * at suite end.
      */
     @AfterMethod
     public final void clearData() {
-        String clientName = ParametersProvider.getProperty("clientName");
-        new NavigationBar(getDriver())
-                .openEstimatesFromNavBar();
+        FixturePool.Fixture used = fixture.get();
+        if (used != null) {
+            fixture.remove();
+            clientName.remove();
+            used.retire();
+            return;
+        }
+        String name = clientName.get();
+        clientName.remove();
+        Routes.openEstimates(getDriver());
         new EstimatesPage(getDriver())
-                .clientDelete(clientName);
-        new NavigationBar(getDriver())
-                .logout();
+                .clientDelete(name);
     }
 }